@@ -0,0 +1,90 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.ParseException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gamehub.GameHub;
+import com.gamehub.library.GameCollection;
+import com.gamehub.library.Platform;
+import com.gamehub.user.RegisteredPlayer;
+import com.gamehub.user.profile.GoldProfile;
+import com.gamehub.user.profile.IllegalProfileException;
+import com.gamehub.utils.Menu;
+
+/**
+ * Data shared by the benchmarks.
+ */
+final class BenchData {
+    /**
+     * Path of the CSV file, overridable with -Dgamehub.csv=...
+     */
+    static final String CSV_PATH = System.getProperty("gamehub.csv", "docs/vgsales.csv");
+
+    private static final AtomicInteger nextPlayer = new AtomicInteger(0);
+    private static GameCollection collection;
+
+    private BenchData() {}
+
+    /**
+     * Silences the console output of the application (e.g. loading messages).
+     */
+    static void muteOutput() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Catalog loaded once per benchmark process.
+     * @return
+     */
+    static synchronized GameCollection collection() {
+        if (collection == null) {
+            muteOutput();
+            collection = new GameCollection(CSV_PATH);
+        }
+        return collection;
+    }
+
+    /**
+     * Creates a player with a unique username and no limit on games and friends.
+     * @param platform
+     * @return
+     */
+    static RegisteredPlayer newPlayer(Platform platform) {
+        try {
+            int id = nextPlayer.getAndIncrement();
+            RegisteredPlayer p = GameHub.getPlayers().add(
+                new RegisteredPlayer("bench" + id, "bench" + id + "@example.com", Menu.parseDate("01/01/1990"), platform));
+            p.setMemberProfile(new GoldProfile());
+            return p;
+        } catch (ParseException | IllegalProfileException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
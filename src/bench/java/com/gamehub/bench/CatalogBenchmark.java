@@ -0,0 +1,92 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gamehub.library.CSVCatalogLoader;
+import com.gamehub.library.CatalogFilter;
+import com.gamehub.library.CatalogLoader;
+import com.gamehub.library.ChunkedCatalogLoader;
+import com.gamehub.library.GameCollection;
+import com.gamehub.library.MappedCatalogLoader;
+import com.gamehub.library.SnapshotCatalogLoader;
+
+/**
+ * Construction of the `GameCollection` from `docs/vgsales.csv` with each loader,
+ * keeping the default selection, every line, or the lines of a single platform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+    @Param({"csv", "chunked", "mapped", "snapshot"})
+    public String loader;
+
+    @Param({"default", "all", "platform"})
+    public String filter;
+
+    private CatalogLoader catalogLoader;
+    private CatalogFilter catalogFilter;
+
+    @Setup
+    public void setup() {
+        BenchData.muteOutput();
+        switch (loader) {
+            case "csv": catalogLoader = new CSVCatalogLoader(); break;
+            case "chunked": catalogLoader = new ChunkedCatalogLoader(); break;
+            case "mapped": catalogLoader = new MappedCatalogLoader(); break;
+            case "snapshot": catalogLoader = new SnapshotCatalogLoader(new CSVCatalogLoader()); break;
+            default: throw new IllegalArgumentException("Unknown loader: " + loader);
+        }
+        switch (filter) {
+            case "default": catalogFilter = CatalogFilter.DEFAULT; break;
+            case "all": catalogFilter = CatalogFilter.ALL; break;
+            case "platform": catalogFilter = CatalogFilter.ALL.withPlatforms("PS4"); break;
+            default: throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+    }
+
+    @Benchmark
+    public GameCollection load() {
+        return new GameCollection(BenchData.CSV_PATH, catalogLoader, catalogFilter);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gamehub.library.Platform;
+import com.gamehub.user.IllegalFriendshipException;
+import com.gamehub.user.RegisteredPlayer;
+
+/**
+ * Adding (then removing) a friend to a player who already has many.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FriendBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int friends;
+
+    private RegisteredPlayer player;
+    private RegisteredPlayer guest;
+
+    @Setup
+    public void setup() throws IllegalFriendshipException {
+        Platform platform = BenchData.collection().getPlatform("PC");
+        player = BenchData.newPlayer(platform);
+        for (int i = 0; i < friends; i++) {
+            player.addFriend(BenchData.newPlayer(platform));
+        }
+        guest = BenchData.newPlayer(platform);
+    }
+
+    @Benchmark
+    public RegisteredPlayer addAndRemoveFriend() throws IllegalFriendshipException {
+        player.addFriend(guest);
+        player.removeFriend(guest);
+        return guest;
+    }
+}
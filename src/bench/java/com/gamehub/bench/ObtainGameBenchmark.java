@@ -0,0 +1,101 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.gamehub.library.Game;
+import com.gamehub.library.GameCollection;
+import com.gamehub.library.Platform;
+import com.gamehub.user.GameAcquiringException;
+import com.gamehub.user.RegisteredPlayer;
+import com.gamehub.user.profile.IllegalProfileException;
+import com.gamehub.user.profile.StandardProfile;
+
+/**
+ * Obtaining the last game allowed by a standard profile.
+ * Each player can only do it once, so a batch of players one game
+ * away from the limit is prepared before every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = ObtainGameBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = ObtainGameBenchmark.BATCH_SIZE)
+@Fork(1)
+public class ObtainGameBenchmark {
+    static final int BATCH_SIZE = 1000;
+
+    private final List<Game> games = new ArrayList<>();
+    private Platform platform;
+    private RegisteredPlayer[] players;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setupGames() {
+        GameCollection collection = BenchData.collection();
+        platform = collection.getPlatform("PS3");
+        int maxGames = new StandardProfile().maxGames();
+        for (String name : collection.getGameNames(platform)) {
+            if (games.size() == maxGames) break;
+            games.add(collection.getGame(name));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupPlayers() throws GameAcquiringException, IllegalProfileException {
+        players = new RegisteredPlayer[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            players[i] = BenchData.newPlayer(platform);
+            players[i].setMemberProfile(new StandardProfile());
+            for (int g = 0; g < games.size() - 1; g++) {
+                players[i].obtainGame(games.get(g));
+            }
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public RegisteredPlayer obtainLastGame() throws GameAcquiringException {
+        RegisteredPlayer p = players[next++];
+        p.obtainGame(games.get(games.size() - 1));
+        return p;
+    }
+}
@@ -24,23 +24,36 @@ SOFTWARE.
 
 package com.gamehub;
 
+import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
 
+import com.gamehub.library.Catalog;
 import com.gamehub.library.Game;
 import com.gamehub.library.GameCollection;
 import com.gamehub.library.GameResult;
+import com.gamehub.library.Leaderboard;
+import com.gamehub.library.LeaderboardMetric;
 import com.gamehub.library.NullPlatform;
 import com.gamehub.library.Platform;
+import com.gamehub.library.SalesAnalytics;
+import com.gamehub.library.SalesRegion;
 import com.gamehub.user.Admin;
 import com.gamehub.user.Child;
+import com.gamehub.user.FriendRecommender;
+import com.gamehub.user.FriendshipGraph;
 import com.gamehub.user.GameAcquiringException;
 import com.gamehub.user.IllegalFriendshipException;
 import com.gamehub.user.Player;
+import com.gamehub.user.PlayerRegistry;
 import com.gamehub.user.RegisteredPlayer;
 import com.gamehub.user.TutoringException;
 import com.gamehub.user.bot.BasicGameAI;
@@ -51,8 +64,10 @@ import com.gamehub.user.profile.IllegalProfileException;
 import com.gamehub.user.profile.KidProfile;
 import com.gamehub.user.profile.MemberProfile;
 import com.gamehub.user.profile.StandardProfile;
+import com.gamehub.utils.ListMenuSource;
 import com.gamehub.utils.Menu;
 import com.gamehub.utils.MenuOption;
+import com.gamehub.utils.MenuSource;
 
 /**
  * Root point of the GameHub application.
@@ -60,13 +75,34 @@ import com.gamehub.utils.MenuOption;
  */
 public class GameHub {
 
-    private static GameCollection collection;
-    private static RegisteredPlayer loggedInUser;
+    private static Catalog catalog;
+
+    /**
+     * Number of players displayed in a leaderboard.
+     */
+    private static final int LEADERBOARD_LENGTH = 10;
 
     /**
      * Store players based on their usernames.
      */
-    private static HashMap<String, Player> players;
+    private static final PlayerRegistry players = new PlayerRegistry();
+
+    /**
+     * Friendships between players.
+     */
+    private static final FriendshipGraph friendships = new FriendshipGraph();
+    private static final FriendRecommender recommender = new FriendRecommender(friendships);
+
+    /**
+     * Number of friend suggestions displayed.
+     */
+    private static final int SUGGESTIONS_LENGTH = 5;
+
+    /**
+     * Number of games displayed for a search. Shorter lists of games
+     * are displayed without searching.
+     */
+    private static final int SEARCH_RESULTS_LENGTH = 10;
 
     /**
      * Mode for the `selectPlayer` function.
@@ -83,33 +119,99 @@ public class GameHub {
     }
 
     /**
-     * Check if a username is available by checking if a player instance
-     * (bot or real player) has this username.
-     * @param username
+     * Players to select in a menu, read from the registry by id
+     * one page at a time. Positions are player ids.
+     */
+    private static class PlayerSource implements MenuSource<RegisteredPlayer> {
+        private final RegisteredPlayer user;
+        private final SelectPlayerMode mode;
+        private final SelectPlayerType type;
+
+        PlayerSource(RegisteredPlayer user, SelectPlayerMode mode, SelectPlayerType type) {
+            this.user = user;
+            this.mode = mode;
+            this.type = type;
+        }
+
+        @Override
+        public int sizeHint() {
+            return players.countRegisteredPlayers();
+        }
+
+        @Override
+        public int read(int position, int count, List<RegisteredPlayer> page) {
+            for (int id = players.nextId(position); id >= 0; id = players.nextId(id + 1)) {
+                Player p = players.get(id);
+                if (!accepts(p)) continue;
+                if (page.size() == count) return id;
+                page.add((RegisteredPlayer) p);
+            }
+            return -1;
+        }
+
+        private boolean accepts(Player p) {
+            if (!(p instanceof RegisteredPlayer)) {
+                // bots, or a player removed while reading
+                return false;
+            }
+            if (mode == SelectPlayerMode.EXCLUDE_SELF && user.equals(p)) {
+                // remove the logged in user
+                return false;
+            }
+            if (type == SelectPlayerType.CHILDREN && !(p instanceof Child)) {
+                // children only
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String getTitle(RegisteredPlayer p) {
+            return p.getUsername();
+        }
+    }
+
+    /**
+     * Loads the games and creates the admin player.
+     * @param dataPath path of the CSV file containing video games data
+     */
+    public static void load(String dataPath) {
+        catalog = new GameCollection(dataPath).getCatalog();
+        players.add(new Admin());
+    }
+
+    /**
+     * Current collection of the catalog. It may be replaced by a reload
+     * at any time: take it once per action to read a consistent collection.
      * @return
      */
-    public static boolean usernameAvailable(String username) {
-        return players.get(username) == null;
+    public static GameCollection getCollection() {
+        return catalog.get();
     }
 
     /**
-     * Adds a player to the user base.
-     * If the overname is taken, its value is overwritten.
-     * Check for availability using `usernameAvailable()`.
-     * @param p the player to add
+     * Registry shared by every player.
+     * @return
      */
-    public static void addPlayer(Player p) {
-        if (p == null) throw new IllegalArgumentException("The parameter can't be null");
-        players.put(p.getUsername(), p);
+    public static PlayerRegistry getPlayers() {
+        return players;
     }
 
-    public static void removePlayer(Player p) {
-        if (p == null) throw new IllegalArgumentException("The parameter can't be null");
-        players.put(p.getUsername(), null);
+    public static FriendshipGraph getFriendships() {
+        return friendships;
     }
 
+    /**
+     * User logged in the session of the current thread.
+     * @return the user, or null if nobody is logged in.
+     */
     public static RegisteredPlayer getLoggedInUser() {
-        return loggedInUser;
+        Session session = Session.current();
+        return (session == null) ? null : session.getLoggedInUser();
+    }
+
+    private static void setLoggedInUser(RegisteredPlayer user) {
+        Session.current().setLoggedInUser(user);
     }
 
 
@@ -124,30 +226,121 @@ public class GameHub {
     // ================================= UI LOGIC ==================================
     // ================================= UI LOGIC ==================================
 
+    /**
+     * States of the menu state machine (see `docs/menu_state_machine.plantuml`).
+     * Each state is handled by a method returning the next state, so
+     * navigating between menus does not grow the call stack.
+     */
+    private enum State {
+        MAIN_MENU("showMainMenu"),
+        LOGIN("login"),
+        LOGGED_IN_MENU("showLoggedInMenu"),
+        SHOW_GAME_INFO("showGameInfoMenu"),
+        SHOW_PLAYER_INFO("showPlayerInfoMenu"),
+        SHOW_LEADERBOARD("showLeaderboardMenu"),
+        SHOW_SALES("showSalesMenu"),
+        RELOAD_CATALOG("reloadCatalog"),
+        CREATE_PLAYER("createPlayer"),
+        GET_GAME("getGame"),
+        ADD_TUTOR("addTutor"),
+        ADD_FRIEND("addFriend"),
+        REMOVE_FRIEND("removeFriend"),
+        PLAY("playGame"),
+        DELETE_ACCOUNT("deleteAccount"),
+        LOGOUT("logout"),
+        QUIT("quit");
+
+        /**
+         * Name of the action reported to session monitors.
+         */
+        private final String action;
+
+        private State(String action) {
+            this.action = action;
+        }
+    }
+
+    /**
+     * Runs the menus of the current session until the user quits.
+     */
+    static void run() {
+        Session session = Session.current();
+        State state = State.MAIN_MENU;
+        while (state != State.QUIT) {
+            long start = System.nanoTime();
+            State next = handle(state);
+            session.actionCompleted(state.action, System.nanoTime() - start);
+            state = next;
+        }
+        quit();
+    }
+
+    /**
+     * Executes a state.
+     * @param state
+     * @return the next state
+     */
+    private static State handle(State state) {
+        switch (state) {
+            case MAIN_MENU: return showMainMenu();
+            case LOGIN: return login();
+            case LOGGED_IN_MENU: return showLoggedInMenu();
+            case SHOW_GAME_INFO: return showGameInfoMenu();
+            case SHOW_PLAYER_INFO: return showPlayerInfoMenu();
+            case SHOW_LEADERBOARD: return showLeaderboardMenu();
+            case SHOW_SALES: return showSalesMenu();
+            case RELOAD_CATALOG: return reloadCatalog();
+            case CREATE_PLAYER: return createPlayer();
+            case GET_GAME: return getGame();
+            case ADD_TUTOR: return addTutor();
+            case ADD_FRIEND: return addFriend();
+            case REMOVE_FRIEND: return removeFriend();
+            case PLAY: return playGame();
+            case DELETE_ACCOUNT: return deleteAccount();
+            case LOGOUT: return logout();
+            default: throw new IllegalStateException("Unhandled state: " + state);
+        }
+    }
+
+    /**
+     * Shows a menu where each option leads to a state.
+     * @param title
+     * @param titles options labels
+     * @param states state of each option
+     * @return the state of the selected option
+     */
+    private static State showStateMenu(String title, List<String> titles, List<State> states) {
+        ArrayList<MenuOption> options = new ArrayList<>(titles.size());
+        for (String optionTitle : titles) {
+            options.add(new MenuOption(optionTitle));
+        }
+        return states.get(Menu.showMenu(title, options));
+    }
+
     /**
      * Menu displayed at start up
      */
-    private static void showMainMenu() {
-        Menu.showMenu("What do you want to do?", new ArrayList<>(Arrays.asList(
-            new MenuOption("login", GameHub::login),
-            new MenuOption("quit", GameHub::quit)
-        )));
+    private static State showMainMenu() {
+        return showStateMenu("What do you want to do?",
+            Arrays.asList("login", "quit"),
+            Arrays.asList(State.LOGIN, State.QUIT)
+        );
     }
 
     /**
      * Login as a user or an admin
      */
-    private static void login() {
+    private static State login() {
         String username = Menu.getInputString("username (back = '/b')");
         
         if (username.equals("admin")) {
             // admin
-            loggedInUser = (Admin) players.get("admin");
-            showLoggedInMenu();
+            setLoggedInUser((Admin) players.get("admin"));
+            return State.LOGGED_IN_MENU;
 
         } else if (username.equals("/b")) {
             // back
-            showMainMenu();
+            return State.MAIN_MENU;
 
         } else {
             // user
@@ -155,13 +348,13 @@ public class GameHub {
             // valid ?
             if (potentialPlayer == null || potentialPlayer instanceof Bot) {
                 // invalid
-                System.out.println("Invalid username.");
-                login();
+                Menu.io().println("Invalid username.");
+                return State.LOGIN;
 
             } else {
                 // valid
-                loggedInUser = (RegisteredPlayer) potentialPlayer;
-                showLoggedInMenu();
+                setLoggedInUser((RegisteredPlayer) potentialPlayer);
+                return State.LOGGED_IN_MENU;
             }
         }
     }
@@ -169,54 +362,76 @@ public class GameHub {
     /**
      * log out and go back to the main menu
      */
-    private static void logout() {
-        loggedInUser = null;
-        showMainMenu();
+    private static State logout() {
+        setLoggedInUser(null);
+        return State.MAIN_MENU;
     }
 
     /**
      * Menu when a user is logged in (admin, adult or child).
      * The menu adapts itself to the logged in user.
      */
-    private static void showLoggedInMenu() {
-        ArrayList<MenuOption> menuOptions = new ArrayList<>();
+    private static State showLoggedInMenu() {
+        ArrayList<String> titles = new ArrayList<>();
+        ArrayList<State> states = new ArrayList<>();
 
         // shared options
-        menuOptions.add(new MenuOption("show game information", GameHub::showGameInfoMenu));
-        menuOptions.add(new MenuOption("show player information", GameHub::showPlayerInfoMenu));
+        titles.add("show game information");
+        states.add(State.SHOW_GAME_INFO);
+        titles.add("show player information");
+        states.add(State.SHOW_PLAYER_INFO);
+        titles.add("show leaderboard");
+        states.add(State.SHOW_LEADERBOARD);
         
-        if (!(loggedInUser instanceof Child)) {
-            menuOptions.add(new MenuOption("create a player", GameHub::createPlayer));
+        if (!(getLoggedInUser() instanceof Child)) {
+            titles.add("create a player");
+            states.add(State.CREATE_PLAYER);
         }
         
-        if (!(loggedInUser instanceof Admin) && !(loggedInUser instanceof Child)) {
-            menuOptions.add(new MenuOption("obtain a game", GameHub::getGame));
-            menuOptions.add(new MenuOption("add a tutor to a child", GameHub::addTutor));
+        if (!(getLoggedInUser() instanceof Admin) && !(getLoggedInUser() instanceof Child)) {
+            titles.add("obtain a game");
+            states.add(State.GET_GAME);
+            titles.add("add a tutor to a child");
+            states.add(State.ADD_TUTOR);
         }
 
-        if (!(loggedInUser instanceof Admin)) {
-            menuOptions.add(new MenuOption("add a friend", GameHub::addFriend));
-            menuOptions.add(new MenuOption("remove a friend", GameHub::removeFriend));
-            menuOptions.add(new MenuOption("play a game", GameHub::playGame));
-            menuOptions.add(new MenuOption("delete account", GameHub::deleteAccount));
+        if (!(getLoggedInUser() instanceof Admin)) {
+            titles.add("add a friend");
+            states.add(State.ADD_FRIEND);
+            titles.add("remove a friend");
+            states.add(State.REMOVE_FRIEND);
+            titles.add("play a game");
+            states.add(State.PLAY);
+            titles.add("delete account");
+            states.add(State.DELETE_ACCOUNT);
         }
         
-        menuOptions.add(new MenuOption("logout", GameHub::logout));
+        if (getLoggedInUser() instanceof Admin) {
+            String status = catalog.getReloadStatus();
+            if (status != null) Menu.io().println("Catalog " + status + ".");
+            titles.add("show sales statistics");
+            states.add(State.SHOW_SALES);
+            titles.add("reload the catalog");
+            states.add(State.RELOAD_CATALOG);
+        }
+        
+        titles.add("logout");
+        states.add(State.LOGOUT);
 
-        Menu.showMenu("Welcome " + loggedInUser.getUsername() + ", please choose an action", menuOptions);
+        return showStateMenu("Welcome " + getLoggedInUser().getUsername() + ", please choose an action", titles, states);
     }
 
     /**
      * Show the menu to choose a game
      */
-    private static void showGameInfoMenu() {
+    private static State showGameInfoMenu() {
         Game game = selectGame();
         if (game == null) {
-            System.out.println("no game available.");
-            showLoggedInMenu();
+            Menu.io().println("no game available.");
         } else {
             printGameInfo(game);
         }
+        return State.LOGGED_IN_MENU;
     }
 
     /**
@@ -224,22 +439,21 @@ public class GameHub {
      * @param name the name of the game
      */
     private static void printGameInfo(Game game) {
-        System.out.println(game);
+        Menu.io().println(game.toString());
         Menu.pressEnterToConfirm("back");
-        showLoggedInMenu();
     }
 
     /**
      * Show the menu to choose a player
      */
-    private static void showPlayerInfoMenu() {
+    private static State showPlayerInfoMenu() {
         RegisteredPlayer player = selectPlayer(SelectPlayerMode.INCLUDE_SELF);
         if (player == null) {
-            System.out.println("No player available.");
-            showLoggedInMenu();
+            Menu.io().println("No player available.");
         } else {
             printPlayerInfo(player);
         }
+        return State.LOGGED_IN_MENU;
     }
 
     /**
@@ -247,9 +461,134 @@ public class GameHub {
      * @param player the name of the player
      */
     private static void printPlayerInfo(Player player) {
-        System.out.println(player);
+        Menu.io().println(player.toString());
         Menu.pressEnterToConfirm("back");
-        showLoggedInMenu();
+    }
+
+    /**
+     * Show the menus to choose a game and a ranking metric
+     */
+    private static State showLeaderboardMenu() {
+        Game game = selectGame();
+        if (game == null) {
+            Menu.io().println("no game available.");
+        } else {
+            ArrayList<MenuOption> options = new ArrayList<>();
+            for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+                options.add(new MenuOption(metric.getLabel()));
+            }
+            int result = Menu.showMenu("Rank players by", options);
+            printLeaderboard(game.getLeaderboard(LeaderboardMetric.values()[result]));
+        }
+        return State.LOGGED_IN_MENU;
+    }
+
+    /**
+     * Display the best players of a leaderboard and the rank
+     * of the logged in user.
+     * @param leaderboard
+     */
+    private static void printLeaderboard(Leaderboard leaderboard) {
+        LeaderboardMetric metric = leaderboard.getMetric();
+        Menu.io().println("leaderboard of " + leaderboard.getGame().getName() + " by " + metric.getLabel() + ":");
+
+        List<Leaderboard.Entry> top = leaderboard.top(LEADERBOARD_LENGTH);
+        if (top.isEmpty()) {
+            Menu.io().println("no match played yet.");
+        }
+        for (int i = 0; i < top.size(); i++) {
+            Leaderboard.Entry entry = top.get(i);
+            Menu.io().println((i + 1) + ". " + entry.getPlayer().getUsername() + " (" + metric.format(entry.getScore()) + ")");
+        }
+
+        int rank = leaderboard.rankOf(getLoggedInUser());
+        if (rank > 0) {
+            Menu.io().println("your rank: " + rank + "/" + leaderboard.size());
+        }
+
+        Menu.pressEnterToConfirm("back");
+    }
+
+    /**
+     * Display statistics of the sales of the catalog for a region.
+     */
+    private static State showSalesMenu() {
+        ArrayList<MenuOption> regions = new ArrayList<>();
+        for (SalesRegion region : SalesRegion.values()) {
+            regions.add(new MenuOption(region.getLabel()));
+        }
+        SalesRegion region = SalesRegion.values()[Menu.showMenu("Sales in", regions)];
+
+        SalesAnalytics analytics = getCollection().getAnalytics();
+        int report = Menu.showMenu("statistics", new ArrayList<>(Arrays.asList(
+            new MenuOption("top publishers"),
+            new MenuOption("sales per platform per year"),
+            new MenuOption("genre share by year")
+        )));
+
+        if (report == 0) {
+            List<SalesAnalytics.PublisherSales> top = analytics.topPublishers(LEADERBOARD_LENGTH, region);
+            for (int i = 0; i < top.size(); i++) {
+                SalesAnalytics.PublisherSales p = top.get(i);
+                Menu.io().println(String.format("%d. %s (%.2f millions of copies)", i + 1, p.getPublisher(), p.getSales()));
+            }
+        } else if (report == 1) {
+            printSalesByPlatform(analytics.salesByPlatformAndYear(region));
+        } else {
+            for (Map.Entry<Integer, Map<String, Double>> year : analytics.genreShareByYear(region).entrySet()) {
+                StringBuilder sb = new StringBuilder().append(year.getKey()).append(':');
+                for (Map.Entry<String, Double> share : year.getValue().entrySet()) {
+                    sb.append(String.format(" %s %.1f%%", share.getKey(), share.getValue() * 100));
+                }
+                Menu.io().println(sb);
+            }
+        }
+
+        Menu.pressEnterToConfirm("back");
+        return State.LOGGED_IN_MENU;
+    }
+
+    /**
+     * Reloads the catalog in the background from a CSV file.
+     * Players keep playing on the current collection until the new one is loaded.
+     * The outcome is shown to admins above their menu.
+     */
+    private static State reloadCatalog() {
+        String current = getCollection().getDataPath();
+        String path = Menu.getInputString("CSV file to load (empty for " + current + ")");
+        if (path.isBlank()) path = current;
+
+        catalog.reload(path);
+        Menu.io().println("Reloading the catalog in the background...");
+
+        return State.LOGGED_IN_MENU;
+    }
+
+    /**
+     * Display the sales of each platform in a table, one column per year.
+     * @param sales
+     */
+    private static void printSalesByPlatform(Map<String, SortedMap<Integer, Double>> sales) {
+        TreeSet<Integer> years = new TreeSet<>();
+        for (SortedMap<Integer, Double> platformSales : sales.values()) {
+            years.addAll(platformSales.keySet());
+        }
+
+        StringBuilder sb = new StringBuilder(String.format("%-10s", "millions"));
+        for (int year : years) {
+            sb.append(String.format("%8d", year));
+        }
+        Menu.io().println(sb);
+
+        for (Map.Entry<String, SortedMap<Integer, Double>> platform : sales.entrySet()) {
+            sb.setLength(0);
+            sb.append(String.format("%-10s", platform.getKey()));
+            for (int year : years) {
+                Double s = platform.getValue().get(year);
+                sb.append((s == null) ? String.format("%8s", "-") : String.format("%8.2f", s));
+            }
+            Menu.io().println(sb);
+        }
     }
 
     /**
@@ -257,20 +596,20 @@ public class GameHub {
      * An admin creates an adult player, while an adult user
      * creates a child user. 
      */
-    private static void createPlayer() {
-        if (loggedInUser instanceof Child) throw new IllegalStateException("Children can't create players");
+    private static State createPlayer() {
+        if (getLoggedInUser() instanceof Child) throw new IllegalStateException("Children can't create players");
         
         boolean creatingChild = false;
-        if (loggedInUser instanceof Admin) {
-            System.out.println("You are creating an adult player.");
+        if (getLoggedInUser() instanceof Admin) {
+            Menu.io().println("You are creating an adult player.");
         } else {
             creatingChild = true;
-            System.out.println("You are creating a child player.");
+            Menu.io().println("You are creating a child player.");
         }
 
         String username = Menu.getInputString(
             "username (unique)",
-            ((name) -> players.get(name) == null)
+            ((name) -> players.isAvailable(name))
         );
 
         MemberProfile profile;
@@ -304,10 +643,10 @@ public class GameHub {
             date = Menu.parseDate(birthDate);
 
             if (creatingChild) {
-                new Child(username, email, date, platform, loggedInUser);
+                players.add(new Child(username, email, date, platform, getLoggedInUser()));
                 
             } else {
-                RegisteredPlayer p = new RegisteredPlayer(username, email, date, platform);
+                RegisteredPlayer p = players.add(new RegisteredPlayer(username, email, date, platform));
                 p.setMemberProfile(profile);
             }
     
@@ -317,9 +656,15 @@ public class GameHub {
             System.exit(-1);
 
         } catch (TutoringException e) {
-            System.out.println("Cannot create the child player.");
-            System.out.println(e.getMessage());
-            showLoggedInMenu();
+            Menu.io().println("Cannot create the child player.");
+            Menu.io().println(e.getMessage());
+            return State.LOGGED_IN_MENU;
+
+        } catch (IllegalArgumentException e) {
+            // username taken meanwhile
+            Menu.io().println("Cannot create the player.");
+            Menu.io().println(e.getMessage());
+            return State.LOGGED_IN_MENU;
 
         } catch (IllegalProfileException e) {
             System.err.println("profile assignation error.");
@@ -327,167 +672,176 @@ public class GameHub {
             System.exit(-1);
         }
 
-        System.out.println(username + " created.");
-        showLoggedInMenu();
+        Menu.io().println(username + " created.");
+        return State.LOGGED_IN_MENU;
     }
 
     /**
      * Let a player give itself a new game
      */
-    private static void getGame() {
-        if (loggedInUser instanceof Admin || loggedInUser instanceof Child) {
+    private static State getGame() {
+        if (getLoggedInUser() instanceof Admin || getLoggedInUser() instanceof Child) {
             throw new IllegalStateException("only adult players can obtain games.");
         }
 
-        Game game = selectGame(loggedInUser.getPlatform());
+        Game game = selectGame(getLoggedInUser().getPlatform());
         if (game == null) {
-            System.out.println("No game available for your platform.");
-            showLoggedInMenu();
+            Menu.io().println("No game available for your platform.");
         } else {
             try {
-                loggedInUser.obtainGame(game);
-                System.out.println("game obtained!");
-                showLoggedInMenu();
+                getLoggedInUser().obtainGame(game);
+                Menu.io().println("game obtained!");
             } catch (GameAcquiringException e) {
-                System.out.println("Could not obtain the game:");
-                System.out.println(e.getMessage());
-                showLoggedInMenu();
+                Menu.io().println("Could not obtain the game:");
+                Menu.io().println(e.getMessage());
             }
         }
+        return State.LOGGED_IN_MENU;
     }
 
     /**
      * Add a friend to the logged in user
      */
-    private static void addFriend() {
+    private static State addFriend() {
+        printFriendSuggestions();
         RegisteredPlayer friend = selectPlayer();
         if (friend == null) {
-            System.out.println("No player available.");
-            showLoggedInMenu();
+            Menu.io().println("No player available.");
         } else {
             try {
-                loggedInUser.addFriend(friend);
-                System.out.println("added " + friend.getUsername() + " as a friend.");
+                getLoggedInUser().addFriend(friend);
+                Menu.io().println("added " + friend.getUsername() + " as a friend.");
             } catch (IllegalFriendshipException e) {
-                System.out.println("Could not add " + friend.getUsername() + " as a friend:");
-                System.out.println(e.getMessage());
-            } finally {
-                showLoggedInMenu();
+                Menu.io().println("Could not add " + friend.getUsername() + " as a friend:");
+                Menu.io().println(e.getMessage());
             }
         }
+        return State.LOGGED_IN_MENU;
+    }
+
+    /**
+     * Display the players the logged in user may know.
+     */
+    private static void printFriendSuggestions() {
+        List<Player> suggestions = recommender.recommend(getLoggedInUser(), SUGGESTIONS_LENGTH);
+        if (suggestions.isEmpty()) return;
+
+        StringBuilder sb = new StringBuilder("people you may know:");
+        for (Player p : suggestions) {
+            sb.append(' ').append(p.getUsername());
+        }
+        Menu.io().println(sb);
     }
 
     /**
      * Remove a friend from the logged in user
      */
-    private static void removeFriend() {
+    private static State removeFriend() {
         RegisteredPlayer friend = selectPlayer();
         if (friend == null) {
-            System.out.println("No player available.");
-            showLoggedInMenu();
+            Menu.io().println("No player available.");
         } else {
             try {
-                loggedInUser.removeFriend(friend);
-                System.out.println("removed " + friend.getUsername() + " as a friend.");
+                getLoggedInUser().removeFriend(friend);
+                Menu.io().println("removed " + friend.getUsername() + " as a friend.");
             } catch (IllegalFriendshipException e) {
-                System.out.println("Could not remove " + friend.getUsername() + " as a friend:");
-                System.out.println(e.getMessage());
-            } finally {
-                showLoggedInMenu();
+                Menu.io().println("Could not remove " + friend.getUsername() + " as a friend:");
+                Menu.io().println(e.getMessage());
             }
         }
+        return State.LOGGED_IN_MENU;
     }
 
-    private static void addTutor() {
-        if (loggedInUser instanceof Admin || loggedInUser instanceof Child) {
+    private static State addTutor() {
+        if (getLoggedInUser() instanceof Admin || getLoggedInUser() instanceof Child) {
             throw new IllegalStateException("only adults can add a tutor to a child");
         }
 
         Child child = (Child) selectPlayer(SelectPlayerMode.EXCLUDE_SELF, SelectPlayerType.CHILDREN);
 
         if (child == null) {
-            System.out.println("no child available");
-            showLoggedInMenu();
+            Menu.io().println("no child available");
         } else {
             try {
-                child.addTutor(loggedInUser);
-                System.out.println("added " + loggedInUser.getUsername() + " as a tutor of " + child.getUsername());
+                child.addTutor(getLoggedInUser());
+                Menu.io().println("added " + getLoggedInUser().getUsername() + " as a tutor of " + child.getUsername());
             } catch (TutoringException e) {
-                System.out.println("Could not add yourself as a tutor:");
-                System.out.println(e.getMessage());
-            } finally {
-                showLoggedInMenu();
+                Menu.io().println("Could not add yourself as a tutor:");
+                Menu.io().println(e.getMessage());
             }
         }
+        return State.LOGGED_IN_MENU;
     }
 
     /**
      * Remove the logged in user from the database
      */
-    private static void deleteAccount() {
-        Menu.showMenu(
-            "Are you sure you want to delete the account for " + loggedInUser.getUsername() + "?",
+    private static State deleteAccount() {
+        int response = Menu.showMenu(
+            "Are you sure you want to delete the account for " + getLoggedInUser().getUsername() + "?",
             new ArrayList<>(Arrays.asList(
-                new MenuOption("yes", () -> {
-                    loggedInUser.deleteAccount();
-                    System.out.println("account deleted, logging out...");
-                    logout();            
-                }),
-                new MenuOption("no", GameHub::showLoggedInMenu)
+                new MenuOption("yes"),
+                new MenuOption("no")
             ))
         );
+
+        if (response == 0) {
+            getLoggedInUser().deleteAccount();
+            Menu.io().println("account deleted, logging out...");
+            return State.LOGOUT;
+        } else {
+            return State.LOGGED_IN_MENU;
+        }
     }
 
     /**
      * Play a game with a friend or a bot.
      */
-    private static void playGame() {
-        Game game = selectGame(loggedInUser.getPlatform());
+    private static State playGame() {
+        // only the games owned on the platform can be played
+        ArrayList<String> owned = new ArrayList<>();
+        for (Game g : getCollection().getOwnedGames(getLoggedInUser(), getLoggedInUser().getPlatform())) {
+            owned.add(g.getName());
+        }
+
+        Game game = selectGame(owned);
         if (game == null) {
-            System.out.println("no game available");
-            showLoggedInMenu();
-        } else if (!loggedInUser.hasGame(game)) {
-            System.out.println("You do not have this game.");
-            showLoggedInMenu();
+            Menu.io().println("You do not own any game for your platform.");
         } else {
+            boolean withBot = false;
             if (game.getBot() != null) {
-                Menu.showMenu(
+                int response = Menu.showMenu(
                     "play with the bot " + game.getBot().getUsername() + "?",
                     new ArrayList<>(Arrays.asList(
-                        new MenuOption("yes", () -> {
-                            game.play(loggedInUser);
-                            showLoggedInMenu();
-                        }),
-                        new MenuOption("no", () -> {
-                            chooseFriendToPlay(game);
-                        })
+                        new MenuOption("yes"),
+                        new MenuOption("no")
                     ))
                 );
+                withBot = (response == 0);
+            }
+
+            if (withBot) {
+                Menu.io().println(game.play(getLoggedInUser()).getUsername() + " won!");
             } else {
-                // no bot
                 chooseFriendToPlay(game);
             }
         }
+        return State.LOGGED_IN_MENU;
     }
 
     /**
-     * Choose a player to play with the logged in user. Go back to the logged in menu
-     * in case of an impossibility to play.
+     * Choose a player to play with the logged in user,
+     * if it is possible to play.
      * @param game
      */
     private static void chooseFriendToPlay(Game game) {
         RegisteredPlayer friend = selectPlayer(SelectPlayerMode.EXCLUDE_SELF, SelectPlayerType.FRIENDS);
         if (friend == null) {
-            System.out.println("No friend to play with.");
-            showLoggedInMenu();
+            Menu.io().println("No friend to play with.");
+        } else if (!friend.hasGame(game)) {
+            Menu.io().println(friend.getUsername() + "does not have the game " + game.getName());
         } else {
-            if (!friend.hasGame(game)) {
-                System.out.println(friend.getUsername() + "does not have the game " + game.getName());
-                showLoggedInMenu();
-            } else {
-                game.play(loggedInUser, friend);
-                showLoggedInMenu();
-            }
+            Menu.io().println(game.play(getLoggedInUser(), friend).getUsername() + " won!");
         }
     }
 
@@ -500,11 +854,13 @@ public class GameHub {
 
 
 
+
     /**
      * Select a platform from the list of available platforms through a menu.
      * @return
      */
     private static Platform selectPlatform() {
+        GameCollection collection = getCollection();
         ArrayList<MenuOption> options = new ArrayList<>();
         Set<String> platforms = collection.getPlatforms();
 
@@ -528,33 +884,20 @@ public class GameHub {
      * @return
      */
     private static RegisteredPlayer selectPlayer(SelectPlayerMode mode, SelectPlayerType type) {
-        ArrayList<MenuOption> menuOptions = new ArrayList<>();
-
-        for (Player p : players.values()) {
-            if (p instanceof RegisteredPlayer) {
-                if (mode == SelectPlayerMode.EXCLUDE_SELF && loggedInUser.equals(p)) {
-                    // remove the logged in user
-                    continue;
-                }
-                if (type == SelectPlayerType.CHILDREN && !(p instanceof Child)) {
-                    // children only
-                    continue;
-                }
-                if (type == SelectPlayerType.FRIENDS && !loggedInUser.hasFriend(p)) {
-                    // friends only
-                    continue;
-                }
-                menuOptions.add(new MenuOption(p.getUsername()));
+        MenuSource<RegisteredPlayer> source;
+        if (type == SelectPlayerType.FRIENDS) {
+            // friends are listed from the adjacency set of the user,
+            // which is bounded by the friends limit of its profile
+            ArrayList<RegisteredPlayer> friends = new ArrayList<>();
+            for (Player p : getLoggedInUser().getFriends()) {
+                if (p instanceof RegisteredPlayer) friends.add((RegisteredPlayer) p);
             }
-        }
-
-        if (menuOptions.size() == 0) {
-            return null;
+            source = new ListMenuSource<>(friends, Player::getUsername);
         } else {
-            int result = Menu.showMenu("Please choose a player", menuOptions);
-            String name = menuOptions.get(result).getTitle();
-            return (RegisteredPlayer) players.get(name);
+            source = new PlayerSource(getLoggedInUser(), mode, type);
         }
+
+        return Menu.showMenu("Please choose a player", source);
     }
 
     private static RegisteredPlayer selectPlayer(SelectPlayerMode mode) {
@@ -571,28 +914,64 @@ public class GameHub {
      * @return
      */
     private static Game selectGame(Platform requiredPlatftorm) {
-        ArrayList<MenuOption> menuOptions = new ArrayList<>();
-
-        Iterable<String> gameNames;
+        GameCollection collection = getCollection();
         if (requiredPlatftorm instanceof NullPlatform) {
-            gameNames = collection.getGameNames();
+            return searchGame(collection.getSortedGameNames(), null, collection.getGamesCount());
         } else {
-            gameNames = collection.getGameNames(requiredPlatftorm);
+            BitSet compatible = collection.getCompatibleGames(requiredPlatftorm);
+            return searchGame(collection.getGameNames(requiredPlatftorm), compatible, compatible.cardinality());
         }
+    }
 
-        for (String name : gameNames) {
-            menuOptions.add(new MenuOption(name));
+    /**
+     * Asks for a search and show a menu of the best matches, until a game is selected.
+     * An empty search lists every game.
+     * @param gameNames names of the games to select from
+     * @param among ids of the games to select from, or null for every game
+     * @param count number of games to select from
+     * @return the game, or null if there is none to select.
+     */
+    private static Game searchGame(List<String> gameNames, BitSet among, int count) {
+        if (count <= SEARCH_RESULTS_LENGTH) {
+            return selectGame(gameNames);
         }
 
-        if (menuOptions.size() == 0) {
-            return null;
-        } else {
+        while (true) {
+            String query = Menu.getInputString("Search a game (empty to list the " + count + " games)");
+            if (query.isBlank()) {
+                return selectGame(gameNames);
+            }
+
+            List<Game> found = getCollection().searchGames(query, SEARCH_RESULTS_LENGTH, among);
+            if (found.isEmpty()) {
+                Menu.io().println("No game found.");
+                continue;
+            }
+
+            ArrayList<MenuOption> menuOptions = new ArrayList<>();
+            for (Game game : found) {
+                menuOptions.add(new MenuOption(game.getName()));
+            }
+            menuOptions.add(new MenuOption("SEARCH AGAIN"));
+
             int result = Menu.showMenu("Please choose a game", menuOptions);
-            String name = menuOptions.get(result).getTitle();
-            return collection.getGame(name);
+            if (result < found.size()) {
+                return found.get(result);
+            }
         }
     }
 
+    /**
+     * Show a menu to select a game among the given ones.
+     * Only the names of the page displayed are read.
+     * @param gameNames
+     * @return the game, or null if there is none to select.
+     */
+    private static Game selectGame(List<String> gameNames) {
+        String name = Menu.showMenu("Please choose a game", new ListMenuSource<>(gameNames, n -> n));
+        return (name == null) ? null : getCollection().getGame(name);
+    }
+
     private static Game selectGame() {
         return selectGame(new NullPlatform());
     }
@@ -610,7 +989,7 @@ public class GameHub {
      * Terminate the application
      */
     private static void quit() {
-        System.out.println("Bye!");
+        Menu.io().println("Bye!");
     }
 
     public static void main(String[] args) {
@@ -621,6 +1000,17 @@ public class GameHub {
             System.exit(-1);
         }
 
+        // optional server mode: GameHub <csv> --serve <port>
+        int port = -1;
+        if (args.length >= 3 && args[1].equals("--serve")) {
+            try {
+                port = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid port: " + args[2]);
+                System.exit(-1);
+            }
+        }
+
         System.out.println("""
 ====================================================================================================================================
 
@@ -638,26 +1028,26 @@ public class GameHub {
         System.out.println("Loading...");
         
         // init
-        collection = new GameCollection(args[0]);
-        players = new HashMap<>();
-        new Admin(); // create the admin player and add it to players
+        load(args[0]);
+        System.out.println(getCollection().getLoadReport().getSummary());
 
         // ===================== default state =====================
         // ===================== default state =====================
         // ===================== default state =====================
         try {
+            GameCollection collection = getCollection();
             Game minecraft = collection.getGame("Minecraft");
             
-            RegisteredPlayer p1 = new RegisteredPlayer("john", "john@example.com", Menu.parseDate("01/02/1993"), collection.getPlatform("X360"));
+            RegisteredPlayer p1 = players.add(new RegisteredPlayer("john", "john@example.com", Menu.parseDate("01/02/1993"), collection.getPlatform("X360")));
             p1.obtainGame(minecraft); // 240
             
-            RegisteredPlayer p2 = new RegisteredPlayer("dan", "dan@example.com", Menu.parseDate("08/04/1997"), collection.getPlatform("PS3"));
+            RegisteredPlayer p2 = players.add(new RegisteredPlayer("dan", "dan@example.com", Menu.parseDate("08/04/1997"), collection.getPlatform("PS3")));
             p2.obtainGame(minecraft); // 240
             
-            RegisteredPlayer p3 = new RegisteredPlayer("jeff", "jeff@example.com", Menu.parseDate("08/11/1994"), collection.getPlatform("PS4"));
+            RegisteredPlayer p3 = players.add(new RegisteredPlayer("jeff", "jeff@example.com", Menu.parseDate("08/11/1994"), collection.getPlatform("PS4")));
             p3.obtainGame(minecraft); // 240
 
-            RegisteredPlayer p4 = new Child("jessica", "jessica@example.com", Menu.parseDate("08/11/2007"), collection.getPlatform("PS4"), p1);
+            RegisteredPlayer p4 = players.add(new Child("jessica", "jessica@example.com", Menu.parseDate("08/11/2007"), collection.getPlatform("PS4"), p1));
             p4.obtainGame(minecraft); // 240
 
             new GameResult(minecraft, p1, p3);
@@ -668,7 +1058,7 @@ public class GameHub {
             p1.addFriend(p2);
 
             GameAI ai = new BasicGameAI("ai");
-            Bot b = new Bot("herobrine");
+            Bot b = players.add(new Bot("herobrine"));
             b.addGame(minecraft);
             b.addStrategy(ai);
             b.addGameOption(minecraft, ai);
@@ -682,10 +1072,24 @@ public class GameHub {
         // =========================================================
         // =========================================================
         
-        showMainMenu();
-
-        // TODO menu state machine
+        if (port < 0) {
+            Session.console().run();
+        } else {
+            serve(port);
+        }
+    }
 
-        // TODO methods
+    /**
+     * Serves sessions on a local port until the process is stopped.
+     * @param port
+     */
+    private static void serve(int port) {
+        try (SessionServer server = new SessionServer()) {
+            System.out.println("Listening on port " + port + "...");
+            server.listen(port);
+        } catch (IOException e) {
+            System.err.println("server error: " + e.getMessage());
+            System.exit(-1);
+        }
     }
 }
\ No newline at end of file
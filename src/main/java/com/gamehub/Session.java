@@ -0,0 +1,124 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+import com.gamehub.user.RegisteredPlayer;
+import com.gamehub.utils.Menu;
+import com.gamehub.utils.MenuIO;
+import com.gamehub.utils.StreamIO;
+
+/**
+ * A user connected to the hub: its own input, output and logged in user.
+ * The menus of a session run on the thread executing it, which the
+ * session is bound to until it ends.
+ */
+public class Session implements Runnable {
+    private static final ThreadLocal<Session> current = new ThreadLocal<>();
+
+    private final MenuIO io;
+    private RegisteredPlayer loggedInUser;
+    private SessionMonitor monitor;
+
+    /**
+     * Builds a session reading and writing UTF-8 text on the given streams.
+     * @param in
+     * @param out
+     */
+    public Session(InputStream in, OutputStream out) {
+        this(new StreamIO(in, out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a session on the given input and output.
+     * @param io
+     */
+    public Session(MenuIO io) {
+        this.io = io;
+        this.loggedInUser = null;
+        this.monitor = null;
+    }
+
+    /**
+     * Session of the local terminal.
+     * @return
+     */
+    public static Session console() {
+        return new Session(Menu.console);
+    }
+
+    /**
+     * Session bound to the calling thread.
+     * @return the session, or null if the thread does not run one.
+     */
+    public static Session current() {
+        return current.get();
+    }
+
+    public RegisteredPlayer getLoggedInUser() {
+        return loggedInUser;
+    }
+
+    void setLoggedInUser(RegisteredPlayer loggedInUser) {
+        this.loggedInUser = loggedInUser;
+    }
+
+    /**
+     * Receives the duration of every action done in this session.
+     * @param monitor (null to disable)
+     */
+    public void setMonitor(SessionMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    void actionCompleted(String action, long nanos) {
+        if (monitor != null) monitor.actionCompleted(action, nanos);
+    }
+
+    /**
+     * Runs the menus until the user quits or the input is closed.
+     */
+    @Override
+    public void run() {
+        if (current.get() != null) throw new IllegalStateException("A session is already running on this thread.");
+
+        current.set(this);
+        Menu.bind(io);
+        try {
+            GameHub.run();
+        } catch (NoSuchElementException e) {
+            // input closed by the user
+        } finally {
+            io.flush();
+            Menu.unbind();
+            current.remove();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import com.gamehub.utils.SocketIO;
+import com.gamehub.utils.StreamIO;
+
+/**
+ * Serves many concurrent sessions in one process.
+ * 
+ * The build targets Java 17, which has no virtual threads: each session
+ * holds a platform thread of a bounded pool for its whole duration.
+ * The number of concurrent sessions is therefore capped. Connections
+ * beyond the cap wait in the listen backlog until a session ends,
+ * and sessions on streams are rejected.
+ */
+public class SessionServer implements Closeable {
+    /**
+     * Concurrent sessions allowed by default.
+     */
+    public static final int DEFAULT_MAX_SESSIONS = 256;
+
+    private final ExecutorService executor;
+    /**
+     * One permit per session that can still be started.
+     */
+    private final Semaphore sessions;
+    private volatile ServerSocket serverSocket;
+
+    public SessionServer() {
+        this(DEFAULT_MAX_SESSIONS);
+    }
+
+    /**
+     * @param maxSessions maximum number of concurrent sessions (and threads)
+     */
+    public SessionServer(int maxSessions) {
+        if (maxSessions < 1) throw new IllegalArgumentException("At least one session must be allowed");
+        this.executor = Executors.newFixedThreadPool(maxSessions);
+        this.sessions = new Semaphore(maxSessions);
+        this.serverSocket = null;
+    }
+
+    /**
+     * Starts a session on the given streams (e.g. pipes),
+     * reading and writing UTF-8 text. The streams are closed when the session ends.
+     * @param in
+     * @param out
+     * @return completed when the session ends
+     * @throws RejectedExecutionException if the maximum number of sessions is reached
+     */
+    public Future<?> serve(InputStream in, OutputStream out) {
+        if (!sessions.tryAcquire()) {
+            throw new RejectedExecutionException("The maximum number of sessions is reached");
+        }
+        StreamIO io = new StreamIO(in, out, StandardCharsets.UTF_8);
+        return submit(() -> serve(io));
+    }
+
+    /**
+     * Runs a session holding a permit, released when it ends.
+     */
+    private Future<?> submit(Runnable session) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    session.run();
+                } finally {
+                    sessions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sessions.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Accepts connections on a local port and starts a session for each of them,
+     * until the server is closed.
+     * @param port
+     * @throws IOException if the port can't be listened on
+     */
+    public void listen(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        try {
+            while (!serverSocket.isClosed()) {
+                // wait for a free session before accepting the next connection
+                sessions.acquireUninterruptibly();
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (IOException e) {
+                    sessions.release();
+                    throw e;
+                }
+                try {
+                    submit(() -> serve(socket));
+                } catch (RejectedExecutionException e) {
+                    // the server was closed after the connection was accepted
+                    socket.close();
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            // closed while accepting
+            if (!serverSocket.isClosed()) throw e;
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (SocketIO io = new SocketIO(socket)) {
+            new Session(io).run();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("session error: " + e.getMessage());
+        }
+    }
+
+    private void serve(StreamIO io) {
+        try (io) {
+            new Session(io).run();
+        } catch (UncheckedIOException e) {
+            System.err.println("session error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting connections and interrupts running sessions.
+     */
+    @Override
+    public void close() throws IOException {
+        if (serverSocket != null) serverSocket.close();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import com.gamehub.library.GameCollection.CSVHeader;
+
+/**
+ * Reads the CSV line by line through commons-csv,
+ * on the calling thread.
+ */
+public class CSVCatalogLoader implements CatalogLoader {
+
+    @Override
+    public void load(String dataPath, CatalogFilter filter, GameCollection collection) throws IOException {
+        long start = System.nanoTime();
+        int scanned = 0;
+        try (Reader reader = new FileReader(dataPath)) {
+            try (CSVParser parser = new CSVParser(reader, csvFormat(true))) {
+                // for each line
+                for (CSVRecord record : parser) {
+                    scanned++;
+                    int year = GameCollection.parseYear(record.get(CSVHeader.YEAR));
+                    float globalSales = Float.parseFloat(record.get(CSVHeader.GLOBAL_SALES));
+
+                    // keep games matching the filter
+                    if (filter.accepts(year, globalSales, record.get(CSVHeader.PLATFORM),
+                            record.get(CSVHeader.GENRE), record.get(CSVHeader.PUBLISHER))) {
+                        collection.addRecord(
+                            record.get(CSVHeader.NAME),
+                            record.get(CSVHeader.PLATFORM),
+                            year,
+                            record.get(CSVHeader.GENRE),
+                            record.get(CSVHeader.PUBLISHER),
+                            Float.parseFloat(record.get(CSVHeader.NA_SALES)),
+                            Float.parseFloat(record.get(CSVHeader.EU_SALES)),
+                            Float.parseFloat(record.get(CSVHeader.JP_SALES)),
+                            Float.parseFloat(record.get(CSVHeader.OTHER_SALES)),
+                            globalSales
+                        );
+                    }
+                }
+            }
+        }
+        collection.getLoadReport().rowsScanned(scanned);
+        collection.getLoadReport().phaseCompleted("scan", start);
+    }
+
+    /**
+     * Format of the CSV file.
+     * @param skipHeader if the first line is the header and must be skipped.
+     * @return
+     */
+    static CSVFormat csvFormat(boolean skipHeader) {
+        return CSVFormat.DEFAULT.builder()
+                .setHeader(CSVHeader.class)
+                .setSkipHeaderRecord(skipHeader)
+                .build();
+    }
+}
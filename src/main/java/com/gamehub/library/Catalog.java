@@ -0,0 +1,133 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Current collection of games, that can be reloaded from a new sales dump
+ * while the hub is running.
+ * 
+ * A reload builds a new collection in the background, then swaps it in
+ * with a single volatile write: readers never block, and always see one
+ * complete collection. Games and platforms are matched by name, so the
+ * instances players and results point to (and their ids) are kept.
+ * Games are read from the current collection of their catalog
+ * (versions, genre, supported platforms).
+ */
+public class Catalog {
+    private volatile GameCollection current;
+    /**
+     * Outcome of the last reload, or null if there was none.
+     */
+    private volatile String reloadStatus;
+    /**
+     * Builds the reloaded collections, one at a time.
+     */
+    private final ExecutorService reloader;
+
+    Catalog() {
+        this.current = null;
+        this.reloadStatus = null;
+        this.reloader = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "catalog-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Current collection.
+     * @return
+     */
+    public GameCollection get() {
+        return current;
+    }
+
+    /**
+     * Outcome of the last reload, to be shown to admins: the sessions
+     * requesting reloads may have ended when they complete.
+     * @return a description, or null if the catalog was never reloaded.
+     */
+    public String getReloadStatus() {
+        return reloadStatus;
+    }
+
+    /**
+     * Makes a built collection the current one.
+     * @param collection
+     */
+    void publish(GameCollection collection) {
+        current = collection;
+    }
+
+    /**
+     * Loads a new version of the catalog in the background, then makes it
+     * the current collection. The current collection is kept if the file
+     * can't be loaded.
+     * @param dataPath CSV file path
+     * @param loader strategy reading the file
+     * @param filter lines of the file that are part of the collection
+     * @return the new collection, once it is the current one.
+     */
+    public CompletableFuture<GameCollection> reload(String dataPath, CatalogLoader loader, CatalogFilter filter) {
+        CompletableFuture<GameCollection> result = new CompletableFuture<>();
+        reloader.execute(() -> {
+            reloadStatus = "reloading from " + dataPath;
+            try {
+                GameCollection collection = GameCollection.reload(dataPath, loader, filter, this);
+                reloadStatus = "reloaded from " + dataPath + " (" + collection.getGamesCount() + " games)";
+                result.complete(collection);
+            } catch (IOException | RuntimeException e) {
+                reloadStatus = "could not be reloaded from " + dataPath + ": " + e;
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reloads the catalog with the filter of the current collection.
+     * @param dataPath CSV file path
+     * @param loader strategy reading the file
+     * @return
+     */
+    public CompletableFuture<GameCollection> reload(String dataPath, CatalogLoader loader) {
+        return reload(dataPath, loader, current.getFilter());
+    }
+
+    /**
+     * Reloads the catalog with the default loader (see `GameCollection`)
+     * and the filter of the current collection.
+     * @param dataPath CSV file path
+     * @return
+     */
+    public CompletableFuture<GameCollection> reload(String dataPath) {
+        return reload(dataPath, GameCollection.defaultLoader());
+    }
+}
@@ -0,0 +1,259 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Selection of the CSV lines that are part of the collection.
+ * 
+ * Loaders evaluate it on the raw fields of each line, before any `Game`
+ * or `Platform` is created: the year and the global sales first, as they
+ * are cheap to parse, then the platform, genre and publisher, that are
+ * only read when they are restricted.
+ * 
+ * Filters are immutable: each `with` method returns a new filter.
+ */
+public class CatalogFilter {
+    /**
+     * Every line of the file.
+     */
+    public static final CatalogFilter ALL = new CatalogFilter(Integer.MIN_VALUE, Integer.MAX_VALUE,
+        Float.NEGATIVE_INFINITY, null, null, null);
+
+    /**
+     * Games released since 2010 that sold more than 500 000 copies
+     * (selection of the hub when no filter is given).
+     */
+    public static final CatalogFilter DEFAULT = ALL.withYears(2010, Integer.MAX_VALUE).withSalesAbove(0.5f);
+
+    private final int minYear;
+    private final int maxYear;
+    private final float salesAbove;
+    /**
+     * Accepted values, or null to accept any.
+     */
+    private final SortedSet<String> platforms;
+    private final SortedSet<String> genres;
+    private final SortedSet<String> publishers;
+
+    private CatalogFilter(int minYear, int maxYear, float salesAbove,
+            SortedSet<String> platforms, SortedSet<String> genres, SortedSet<String> publishers) {
+        this.minYear = minYear;
+        this.maxYear = maxYear;
+        this.salesAbove = salesAbove;
+        this.platforms = platforms;
+        this.genres = genres;
+        this.publishers = publishers;
+    }
+
+    /**
+     * Only keeps the lines released between two years.
+     * Lines with an unknown year (0) are kept if 0 is in the range.
+     * @param minYear first year, included
+     * @param maxYear last year, included
+     * @return
+     */
+    public CatalogFilter withYears(int minYear, int maxYear) {
+        if (minYear > maxYear) throw new IllegalArgumentException("Empty year range: " + minYear + " to " + maxYear);
+        return new CatalogFilter(minYear, maxYear, salesAbove, platforms, genres, publishers);
+    }
+
+    /**
+     * Only keeps the lines that sold more than the given global sales.
+     * @param millions millions of copies, excluded
+     * @return
+     */
+    public CatalogFilter withSalesAbove(float millions) {
+        return new CatalogFilter(minYear, maxYear, millions, platforms, genres, publishers);
+    }
+
+    /**
+     * Only keeps the lines of the given platforms.
+     * @param names platform names, as in the file
+     * @return
+     */
+    public CatalogFilter withPlatforms(String... names) {
+        return new CatalogFilter(minYear, maxYear, salesAbove, setOf(names), genres, publishers);
+    }
+
+    /**
+     * Only keeps the lines of the given genres.
+     * @param names genres, as in the file
+     * @return
+     */
+    public CatalogFilter withGenres(String... names) {
+        return new CatalogFilter(minYear, maxYear, salesAbove, platforms, setOf(names), publishers);
+    }
+
+    /**
+     * Only keeps the lines of the given publishers.
+     * @param names publishers, as in the file
+     * @return
+     */
+    public CatalogFilter withPublishers(String... names) {
+        return new CatalogFilter(minYear, maxYear, salesAbove, platforms, genres, setOf(names));
+    }
+
+    private static SortedSet<String> setOf(String[] names) {
+        return Collections.unmodifiableSortedSet(new TreeSet<>(Arrays.asList(names)));
+    }
+
+    /**
+     * Checks the numeric fields of a line, to be called first.
+     * @param year release year (0 if unknown)
+     * @param globalSales sales in millions of copies
+     * @return
+     */
+    public boolean acceptsNumbers(int year, float globalSales) {
+        return globalSales > salesAbove && year >= minYear && year <= maxYear;
+    }
+
+    /**
+     * If the platform of a line must be read to check it.
+     * @return
+     */
+    public boolean restrictsPlatforms() {
+        return platforms != null;
+    }
+
+    public boolean restrictsGenres() {
+        return genres != null;
+    }
+
+    public boolean restrictsPublishers() {
+        return publishers != null;
+    }
+
+    public boolean acceptsPlatform(String platform) {
+        return platforms == null || platforms.contains(platform);
+    }
+
+    public boolean acceptsGenre(String genre) {
+        return genres == null || genres.contains(genre);
+    }
+
+    public boolean acceptsPublisher(String publisher) {
+        return publishers == null || publishers.contains(publisher);
+    }
+
+    /**
+     * Checks every field of a line.
+     * @return
+     */
+    public boolean accepts(int year, float globalSales, String platform, String genre, String publisher) {
+        return acceptsNumbers(year, globalSales)
+            && acceptsPlatform(platform) && acceptsGenre(genre) && acceptsPublisher(publisher);
+    }
+
+    /**
+     * Writes the filter (for the catalog snapshot).
+     * @param out
+     * @throws IOException
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(minYear);
+        out.writeInt(maxYear);
+        out.writeFloat(salesAbove);
+        writeSet(out, platforms);
+        writeSet(out, genres);
+        writeSet(out, publishers);
+    }
+
+    private static void writeSet(DataOutputStream out, SortedSet<String> set) throws IOException {
+        if (set == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(set.size());
+        for (String s : set) {
+            out.writeUTF(s);
+        }
+    }
+
+    /**
+     * Reads a filter written by `write`.
+     * @param in
+     * @return
+     * @throws IOException
+     */
+    static CatalogFilter read(DataInputStream in) throws IOException {
+        int minYear = in.readInt();
+        int maxYear = in.readInt();
+        float salesAbove = in.readFloat();
+        SortedSet<String> platforms = readSet(in);
+        SortedSet<String> genres = readSet(in);
+        SortedSet<String> publishers = readSet(in);
+        return new CatalogFilter(minYear, maxYear, salesAbove, platforms, genres, publishers);
+    }
+
+    private static SortedSet<String> readSet(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) return null;
+
+        TreeSet<String> set = new TreeSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(in.readUTF());
+        }
+        return Collections.unmodifiableSortedSet(set);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CatalogFilter)) return false;
+        CatalogFilter other = (CatalogFilter) o;
+        return minYear == other.minYear && maxYear == other.maxYear
+            && Float.compare(salesAbove, other.salesAbove) == 0
+            && Objects.equals(platforms, other.platforms)
+            && Objects.equals(genres, other.genres)
+            && Objects.equals(publishers, other.publishers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minYear, maxYear, salesAbove, platforms, genres, publishers);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (minYear != Integer.MIN_VALUE) sb.append("year >= " + minYear + ", ");
+        if (maxYear != Integer.MAX_VALUE) sb.append("year <= " + maxYear + ", ");
+        if (salesAbove != Float.NEGATIVE_INFINITY) sb.append("global sales > " + salesAbove + ", ");
+        if (platforms != null) sb.append("platforms in " + platforms + ", ");
+        if (genres != null) sb.append("genres in " + genres + ", ");
+        if (publishers != null) sb.append("publishers in " + publishers + ", ");
+        return (sb.length() == 0) ? "all lines" : sb.substring(0, sb.length() - 2);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistics of the loading of a collection: lines scanned and kept
+ * by the filter, size of the collection, and duration of each phase
+ * in the order they ran.
+ */
+public class CatalogLoadReport {
+    private final CatalogFilter filter;
+    private int rowsScanned;
+    private int rowsKept;
+    private int gamesCount;
+    private int platformsCount;
+    private final LinkedHashMap<String, Long> phases;
+
+    CatalogLoadReport(CatalogFilter filter) {
+        this.filter = filter;
+        this.rowsScanned = 0;
+        this.rowsKept = 0;
+        this.gamesCount = 0;
+        this.platformsCount = 0;
+        this.phases = new LinkedHashMap<>();
+    }
+
+    /**
+     * Counts lines evaluated by the filter.
+     * @param count
+     */
+    void rowsScanned(int count) {
+        rowsScanned += count;
+    }
+
+    void setRowsKept(int count) {
+        rowsKept = count;
+    }
+
+    void setCollectionSize(int games, int platforms) {
+        gamesCount = games;
+        platformsCount = platforms;
+    }
+
+    /**
+     * Records the duration of a phase, added to the previous runs of the phase.
+     * @param phase
+     * @param startNanos `System.nanoTime()` when the phase started
+     */
+    void phaseCompleted(String phase, long startNanos) {
+        phases.merge(phase, System.nanoTime() - startNanos, Long::sum);
+    }
+
+    public CatalogFilter getFilter() {
+        return filter;
+    }
+
+    public int getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * Lines accepted by the filter, i.e. versions of the collection.
+     * @return
+     */
+    public int getRowsKept() {
+        return rowsKept;
+    }
+
+    /**
+     * Games listed in the collection.
+     * @return
+     */
+    public int getGamesCount() {
+        return gamesCount;
+    }
+
+    public int getPlatformsCount() {
+        return platformsCount;
+    }
+
+    /**
+     * Duration of each phase in nanoseconds, in the order they ran.
+     * @return
+     */
+    public Map<String, Long> getPhaseNanos() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    public long getTotalNanos() {
+        long total = 0;
+        for (long nanos : phases.values()) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    /**
+     * One line summary of the loading, shown at startup.
+     * @return
+     */
+    public String getSummary() {
+        return String.format("Loaded %d games and %d platforms (%d of %d lines kept in %.0f ms).",
+            gamesCount, platformsCount, rowsKept, rowsScanned, getTotalNanos() / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("filter: " + filter + "\n");
+        sb.append("rows: " + rowsKept + " kept of " + rowsScanned + " scanned\n");
+        sb.append("collection: " + gamesCount + " games, " + platformsCount + " platforms\n");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            sb.append(String.format("%s: %.2f ms%n", phase.getKey(), phase.getValue() / 1e6));
+        }
+        sb.append(String.format("total: %.2f ms%n", getTotalNanos() / 1e6));
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.io.IOException;
+
+/**
+ * Strategy reading the sales CSV file into a `GameCollection`.
+ * 
+ * Implementations must add the lines accepted by the filter
+ * in the order of the file, so every loader builds the same collection.
+ * The filter is evaluated on the raw fields, before the line is added.
+ * Loaders report the lines they scanned and the duration of their phases
+ * to the `CatalogLoadReport` of the collection.
+ */
+public interface CatalogLoader {
+    /**
+     * Reads the file and fills the collection.
+     * @param dataPath CSV file path
+     * @param filter lines to add to the collection
+     * @param collection empty collection to fill
+     * @throws IOException if the file can't be read
+     */
+    public void load(String dataPath, CatalogFilter filter, GameCollection collection) throws IOException;
+}
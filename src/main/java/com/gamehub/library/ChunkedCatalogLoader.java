@@ -0,0 +1,229 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import com.gamehub.library.GameCollection.CSVHeader;
+
+/**
+ * Loads the CSV file by splitting it into byte ranges ending on
+ * line boundaries, parsed concurrently on a fork-join pool.
+ * 
+ * Chunks only keep the lines accepted by the filter.
+ * They are then merged in the order of the file, so the resulting
+ * collection is identical to the one of the sequential loading
+ * (same genre for each game, same order of versions).
+ * 
+ * Fields are assumed not to contain line breaks, which is the case
+ * for the sales dumps.
+ */
+public class ChunkedCatalogLoader implements CatalogLoader {
+    /**
+     * Below this size, a chunk is parsed directly instead of being split.
+     */
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * A line of the CSV file accepted by the filter.
+     */
+    private static class Row {
+        final String name;
+        final String platform;
+        final int year;
+        final String genre;
+        final String publisher;
+        final float naSales;
+        final float euSales;
+        final float jpSales;
+        final float otherSales;
+        final float globalSales;
+
+        Row(String name, String platform, int year, String genre, String publisher,
+                float naSales, float euSales, float jpSales, float otherSales, float globalSales) {
+            this.name = name;
+            this.platform = platform;
+            this.year = year;
+            this.genre = genre;
+            this.publisher = publisher;
+            this.naSales = naSales;
+            this.euSales = euSales;
+            this.jpSales = jpSales;
+            this.otherSales = otherSales;
+            this.globalSales = globalSales;
+        }
+    }
+
+    /**
+     * Parses the lines in [start, end[, splitting the range in two halves
+     * (on a line boundary) while it is big enough.
+     */
+    private static class ChunkTask extends RecursiveTask<List<Row>> {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int start;
+        private final int end;
+        private final CatalogFilter filter;
+        /**
+         * Lines parsed by every chunk.
+         */
+        private final AtomicInteger scanned;
+
+        ChunkTask(byte[] data, int start, int end, CatalogFilter filter, AtomicInteger scanned) {
+            this.data = data;
+            this.start = start;
+            this.end = end;
+            this.filter = filter;
+            this.scanned = scanned;
+        }
+
+        @Override
+        protected List<Row> compute() {
+            if (end - start > MIN_CHUNK_SIZE) {
+                int middle = nextLine(data, start + (end - start) / 2, end);
+                if (middle > start && middle < end) {
+                    ChunkTask second = new ChunkTask(data, middle, end, filter, scanned);
+                    second.fork();
+                    List<Row> rows = new ChunkTask(data, start, middle, filter, scanned).compute();
+                    rows.addAll(second.join());
+                    return rows;
+                }
+            }
+            try {
+                return parse(data, start, end, filter, scanned);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Parses the chunks on the common fork-join pool.
+     */
+    public ChunkedCatalogLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool parsing the chunks
+     */
+    public ChunkedCatalogLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void load(String dataPath, CatalogFilter filter, GameCollection collection) throws IOException {
+        CatalogLoadReport report = collection.getLoadReport();
+        long phaseStart = System.nanoTime();
+        byte[] data = Files.readAllBytes(Path.of(dataPath));
+        int start = nextLine(data, 0, data.length); // skip the header
+        report.phaseCompleted("read", phaseStart);
+
+        phaseStart = System.nanoTime();
+        List<Row> rows;
+        AtomicInteger scanned = new AtomicInteger(0);
+        try {
+            rows = pool.invoke(new ChunkTask(data, start, data.length, filter, scanned));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        report.rowsScanned(scanned.get());
+        report.phaseCompleted("parse", phaseStart);
+
+        // merge in the order of the file
+        phaseStart = System.nanoTime();
+        for (Row row : rows) {
+            collection.addRecord(row.name, row.platform, row.year, row.genre, row.publisher,
+                row.naSales, row.euSales, row.jpSales, row.otherSales, row.globalSales);
+        }
+        report.phaseCompleted("merge", phaseStart);
+    }
+
+    /**
+     * Returns the index following the first line break found from `from`,
+     * or `end` if there is none.
+     */
+    private static int nextLine(byte[] data, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (data[i] == '\n') return i + 1;
+        }
+        return end;
+    }
+
+    /**
+     * Parses the complete lines in [start, end[ and keeps the
+     * ones accepted by the filter.
+     */
+    private static List<Row> parse(byte[] data, int start, int end, CatalogFilter filter, AtomicInteger scanned) throws IOException {
+        int count = 0;
+        List<Row> rows = new ArrayList<>();
+        // same charset as the FileReader of the sequential loading
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(data, start, end - start), Charset.defaultCharset());
+
+        try (CSVParser parser = new CSVParser(reader, CSVCatalogLoader.csvFormat(false))) {
+            for (CSVRecord record : parser) {
+                count++;
+                int year = GameCollection.parseYear(record.get(CSVHeader.YEAR));
+                float globalSales = Float.parseFloat(record.get(CSVHeader.GLOBAL_SALES));
+
+                if (filter.accepts(year, globalSales, record.get(CSVHeader.PLATFORM),
+                        record.get(CSVHeader.GENRE), record.get(CSVHeader.PUBLISHER))) {
+                    rows.add(new Row(
+                        record.get(CSVHeader.NAME),
+                        record.get(CSVHeader.PLATFORM),
+                        year,
+                        record.get(CSVHeader.GENRE),
+                        record.get(CSVHeader.PUBLISHER),
+                        Float.parseFloat(record.get(CSVHeader.NA_SALES)),
+                        Float.parseFloat(record.get(CSVHeader.EU_SALES)),
+                        Float.parseFloat(record.get(CSVHeader.JP_SALES)),
+                        Float.parseFloat(record.get(CSVHeader.OTHER_SALES)),
+                        globalSales
+                    ));
+                }
+            }
+        }
+        scanned.addAndGet(count);
+        return rows;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.Arrays;
+
+/**
+ * Elo rating: the winner takes points from the loser,
+ * more if the win was unexpected.
+ */
+public class EloRatingEngine extends RatingEngine {
+    public static final double DEFAULT_K_FACTOR = 32;
+
+    private final double kFactor;
+    private double[] ratings;
+
+    public EloRatingEngine() {
+        this(DEFAULT_K_FACTOR);
+    }
+
+    /**
+     * @param kFactor maximum number of points exchanged in a match.
+     */
+    public EloRatingEngine(double kFactor) {
+        this.kFactor = kFactor;
+        this.ratings = new double[0];
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (ratings.length < capacity) {
+            ratings = Arrays.copyOf(ratings, grownLength(ratings.length, capacity));
+        }
+    }
+
+    @Override
+    protected void initialize(int slot) {
+        ratings[slot] = INITIAL_RATING;
+    }
+
+    @Override
+    protected void reset() {
+        ratings = new double[0];
+    }
+
+    @Override
+    protected void update(int winnerSlot, int loserSlot) {
+        double expected = 1 / (1 + Math.pow(10, (ratings[loserSlot] - ratings[winnerSlot]) / 400));
+        double delta = kFactor * (1 - expected);
+        ratings[winnerSlot] += delta;
+        ratings[loserSlot] -= delta;
+    }
+
+    @Override
+    protected double rating(int slot) {
+        return ratings[slot];
+    }
+}
@@ -24,9 +24,19 @@ SOFTWARE.
 
 package com.gamehub.library;
 
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.gamehub.user.Player;
 import com.gamehub.user.RegisteredPlayer;
 import com.gamehub.user.bot.Bot;
 
@@ -36,32 +46,94 @@ import com.gamehub.user.bot.Bot;
  * For each platform, a GameVersion is created.
  * A Game may have at most one bot that can be used to play
  * the game.
+ * 
+ * The versions and genre of a game are read from the current collection
+ * of its catalog, so a game keeps its identity, players and results
+ * when the catalog is reloaded.
  */
 public class Game {
+    /**
+     * Index of the game in its collection (0, 1, 2...).
+     */
+    private final int id;
     private final String name;
-    private final String genre;
-    private ArrayList<GameVersion> versions;
-    private Bot bot;
-    private ArrayList<RegisteredPlayer> players;
-    private ArrayList<GameResult> results;
+    private final Catalog catalog;
+    private volatile Bot bot;
+    private final Set<RegisteredPlayer> players;
+    /**
+     * Replaced by a filtered copy when results are removed,
+     * so readers holding the previous log keep a consistent view.
+     */
+    private volatile ResultLog results;
+    /**
+     * Wins and played matches of each player, kept in sync
+     * with `results` to avoid scanning them.
+     */
+    private final ConcurrentHashMap<RegisteredPlayer, Score> scores;
+    private volatile RatingSystem ratingSystem;
+    private volatile RatingEngine ratings;
+    private final CopyOnWriteArrayList<GameResultListener> listeners;
+    private final EnumMap<LeaderboardMetric, Leaderboard> leaderboards;
+    /**
+     * Serializes the writers of the results of this game
+     * (one lock per game). Readers do not take it.
+     */
+    private final ReentrantLock lock;
 
-    private static Random random = new Random();
+    /**
+     * Counters of a player for the game. Immutable, so a reader
+     * always gets wins and played matches from the same update.
+     */
+    private static class Score {
+        static final Score NONE = new Score(0, 0);
 
-    public Game(String name, String genre) {
+        final int wins;
+        final int played;
+
+        Score(int wins, int played) {
+            this.wins = wins;
+            this.played = played;
+        }
+    }
+
+    /**
+     * @param id
+     * @param name
+     * @param catalog catalog the game is read from
+     */
+    Game(int id, String name, Catalog catalog) {
+        this.id = id;
         this.name = name;
-        this.genre = genre;
-        versions = new ArrayList<>();
+        this.catalog = catalog;
         this.bot = null;
-        players = new ArrayList<>();
-        results = new ArrayList<>();
+        players = ConcurrentHashMap.newKeySet();
+        results = new ResultLog();
+        scores = new ConcurrentHashMap<>();
+        ratingSystem = RatingSystem.ELO;
+        ratings = ratingSystem.createEngine();
+        listeners = new CopyOnWriteArrayList<>();
+        leaderboards = new EnumMap<>(LeaderboardMetric.class);
+        lock = new ReentrantLock();
+    }
+
+    public int getId() {
+        return id;
     }
 
     public String getName() {
         return name;
     }
 
-    public void addGameVersion(GameVersion version) {
-        versions.add(version);
+    public String getGenre() {
+        return catalog.get().getGenre(this);
+    }
+
+    /**
+     * Versions of the game in the current catalog, in the order of the file.
+     * @return
+     */
+    public List<GameVersion> getVersions() {
+        return catalog.get().getVersions(this);
     }
 
     public void addBot(Bot bot) {
@@ -76,6 +148,14 @@ public class Game {
         this.players.add(p);
     }
 
+    /**
+     * Live view of the players owning the game.
+     * @return
+     */
+    public Set<RegisteredPlayer> getPlayers() {
+        return Collections.unmodifiableSet(players);
+    }
+
     /**
      * Note that removing a player remove its associated
      * game results.
@@ -84,19 +164,204 @@ public class Game {
     public void removePlayer(RegisteredPlayer p) {
         players.remove(p);
 
-        // remove game results containing the player
-        for (int i = results.size() - 1; i >= 0; i--) {
-            GameResult result = results.get(i);
-            if (result.getWinner() == p || result.getLoser() == p) {
-                results.remove(result);
+        lock.lock();
+        try {
+            // keep the results without the player
+            ResultLog kept = new ResultLog();
+            HashSet<RegisteredPlayer> opponents = new HashSet<>();
+            for (GameResult result : results.snapshot()) {
+                if (result.getWinner() == p || result.getLoser() == p) {
+                    uncount(result);
+                    opponents.add((result.getWinner() == p)? result.getLoser() : result.getWinner());
+                } else {
+                    kept.add(result);
+                }
+            }
+            results = kept;
+            scores.remove(p);
+            opponents.remove(p);
+            // ratings depend on the order of the results, replay the remaining ones
+            ratings.rebuild(kept.snapshot());
+
+            for (GameResultListener listener : listeners) {
+                listener.playerRemoved(this, p, opponents);
             }
+            refreshRatingLeaderboard();
+        } finally {
+            lock.unlock();
         }
     }
 
     public void addGameResult(GameResult g) {
-        results.add(g);
+        lock.lock();
+        try {
+            results.add(g);
+            count(g);
+            ratings.record(g);
+
+            for (GameResultListener listener : listeners) {
+                listener.resultAdded(g);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a batch of results at once, notifying the
+     * listeners once for the whole batch.
+     * @param batch results in the order they were played
+     */
+    public void addGameResults(List<GameResult> batch) {
+        lock.lock();
+        try {
+            results.addAll(batch);
+            for (GameResult g : batch) {
+                count(g);
+                ratings.record(g);
+            }
+
+            for (GameResultListener listener : listeners) {
+                listener.resultsAdded(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void addListener(GameResultListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameResultListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the leaderboard of the game for a metric, creating
+     * it from the current results the first time.
+     * @param metric
+     * @return
+     */
+    public Leaderboard getLeaderboard(LeaderboardMetric metric) {
+        lock.lock();
+        try {
+            Leaderboard leaderboard = leaderboards.get(metric);
+            if (leaderboard == null) {
+                leaderboard = new Leaderboard(this, metric);
+                leaderboards.put(metric, leaderboard);
+                addListener(leaderboard);
+            }
+            return leaderboard;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Players having at least one result for the game.
+     * @return
+     */
+    Set<RegisteredPlayer> getRankedPlayers() {
+        return Collections.unmodifiableSet(scores.keySet());
+    }
+
+    /**
+     * Results of the game at the time of the call, in the order they were added.
+     * Results added later are not part of the returned list.
+     * @return
+     */
+    public List<GameResult> getResults() {
+        return results.snapshot();
+    }
+
+    private void count(GameResult result) {
+        Score winner = scores.getOrDefault(result.getWinner(), Score.NONE);
+        scores.put(result.getWinner(), new Score(winner.wins + 1, winner.played + 1));
+
+        Score loser = scores.getOrDefault(result.getLoser(), Score.NONE);
+        scores.put(result.getLoser(), new Score(loser.wins, loser.played + 1));
+    }
+
+    private void uncount(GameResult result) {
+        Score winner = scores.get(result.getWinner());
+        setScore(result.getWinner(), new Score(winner.wins - 1, winner.played - 1));
+
+        Score loser = scores.get(result.getLoser());
+        setScore(result.getLoser(), new Score(loser.wins, loser.played - 1));
+    }
+
+    private void setScore(RegisteredPlayer p, Score score) {
+        if (score.played == 0) {
+            scores.remove(p);
+        } else {
+            scores.put(p, score);
+        }
+    }
+
+    /**
+     * Number of matches won by the player.
+     * @param p
+     * @return
+     */
+    public int getWins(RegisteredPlayer p) {
+        return scores.getOrDefault(p, Score.NONE).wins;
+    }
+
+    /**
+     * Number of matches played by the player.
+     * @param p
+     * @return
+     */
+    public int getPlayedCount(RegisteredPlayer p) {
+        return scores.getOrDefault(p, Score.NONE).played;
+    }
+
+    /**
+     * Rating of the player for the game, updated after each result.
+     * @param p
+     * @return
+     */
+    public double getRating(RegisteredPlayer p) {
+        return ratings.getRating(p);
     }
 
+    public RatingSystem getRatingSystem() {
+        return ratingSystem;
+    }
+
+    public RatingEngine getRatingEngine() {
+        return ratings;
+    }
+
+    /**
+     * Changes the rating algorithm, computing the ratings
+     * again from the results.
+     * @param system
+     */
+    public void setRatingSystem(RatingSystem system) {
+        if (system == null) throw new IllegalArgumentException("The parameter can't be null");
+        lock.lock();
+        try {
+            RatingEngine engine = system.createEngine();
+            engine.rebuild(results.snapshot());
+            this.ratingSystem = system;
+            this.ratings = engine;
+
+            refreshRatingLeaderboard();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilding the ratings changes them for everyone,
+     * not only for the players of a result.
+     */
+    private void refreshRatingLeaderboard() {
+        Leaderboard leaderboard = leaderboards.get(LeaderboardMetric.RATING);
+        if (leaderboard != null) leaderboard.refresh();
+    }
 
     /**
      * Returns a number between 0 and 1 representing
@@ -105,20 +370,8 @@ public class Game {
      * @return
      */
     public double getWinRatio(RegisteredPlayer p) {
-        int wins = 0;
-        int games = 0;
-
-        for (GameResult result : results) {
-            if (result.getWinner().equals(p)) {
-                wins++;
-                games++;
-            }
-            if (result.getLoser().equals(p)) {
-                games++;
-            }
-        }
-
-        return (games == 0)? 0 : (double) wins / (double) games;
+        Score score = scores.getOrDefault(p, Score.NONE);
+        return (score.played == 0)? 0 : (double) score.wins / (double) score.played;
     }
 
     /**
@@ -127,55 +380,68 @@ public class Game {
      * @return
      */
     public boolean supportsPlatform(Platform p) {
-        if (p instanceof NullPlatform) return false;
-        boolean supported = false;
-        for (GameVersion gv: versions) {
-            if (gv.getPlatform().equals(p)) {
-                supported = true;
-                break;
-            }
-        }
-        return supported;
+        return catalog.get().supportsPlatform(this, p);
     }
 
     /**
      * Make two players play together
      * @param p1
      * @param p2
+     * @return the winner
      */
-    public void play(RegisteredPlayer p1, RegisteredPlayer p2) {
-        double rand = random.nextDouble();
-        System.out.println(rand);
-        if (rand < 0.5) {
+    public Player play(RegisteredPlayer p1, RegisteredPlayer p2) {
+        // per thread generator, as many sessions play at once
+        if (ThreadLocalRandom.current().nextDouble() < 0.5) {
             new GameResult(this, p1, p2);
-            System.out.println(p1.getUsername() + " won!");
+            return p1;
         } else {
             new GameResult(this, p2, p1);
-            System.out.println(p2.getUsername() + " won!");
+            return p2;
         }
     }
 
     /**
      * Make a player play against a bot
      * @param p1
+     * @return the winner
      */
-    public void play(RegisteredPlayer p1) {
+    public Player play(RegisteredPlayer p1) {
+        Bot bot = this.bot;
         boolean botWon = bot.playGameOption(this);
-        if (botWon) {
-            System.out.println(bot.getUsername() + " won!");
-        } else {
-            System.out.println(p1.getUsername() + " won!");
-        }
+        return botWon ? bot : p1;
+    }
+
+    /**
+     * Resolves a batch of matches in parallel on the common pool
+     * and records the results, without any console output.
+     * @param matches pairings to resolve
+     * @return the summary of the batch
+     */
+    public MatchSummary playAll(List<Match> matches) {
+        return MatchSimulator.simulate(this, matches, new SplittableRandom(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolves a batch of matches in parallel and records the results,
+     * without any console output. The same seed gives the same outcomes.
+     * @param matches pairings to resolve
+     * @param seed seed of the random generator
+     * @param pool pool resolving the matches
+     * @return the summary of the batch
+     */
+    public MatchSummary playAll(List<Match> matches, long seed, ForkJoinPool pool) {
+        return MatchSimulator.simulate(this, matches, new SplittableRandom(seed), pool);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        GameCollection collection = catalog.get();
 
         sb.append("name: " + this.name + "\n");
-        sb.append("genre: " + this.genre + "\n");
+        sb.append("genre: " + collection.getGenre(this) + "\n");
         sb.append("versions:\n");
-        for (GameVersion gv : versions) {
+        for (GameVersion gv : collection.getVersions(this)) {
             sb.append("---\n");
             sb.append(gv);
         }
@@ -24,20 +24,29 @@ SOFTWARE.
 
 package com.gamehub.library;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import com.gamehub.user.RegisteredPlayer;
 
 /**
  * Collection of all the games of the platform,
- * loaded from the CSV file.
+ * loaded from the CSV file by a `CatalogLoader`.
+ * 
+ * A collection is not modified once loaded. Reloading the file builds
+ * a new collection of the same `Catalog`, that keeps the games and
+ * platforms of the previous one (matched by name) with their ids.
+ * Ids are never reused: games and platforms missing from the new file
+ * keep theirs, but are no longer listed.
  */
 public class GameCollection {
     String os = System.getProperty("os.name");
@@ -56,71 +65,420 @@ public class GameCollection {
         GLOBAL_SALES
     }
 
+    private final Catalog catalog;
+    private String dataPath;
+    /**
+     * Lines of the file that are part of the collection.
+     */
+    private CatalogFilter filter;
+    private CatalogLoadReport loadReport;
+
+    /**
+     * Games and platforms listed in the file, by name.
+     */
     private HashMap<String, Game> games;
     private HashMap<String, Platform> platforms;
+    /**
+     * Games and platforms by id (ids are their index),
+     * including the ones missing from the file.
+     */
+    private ArrayList<Game> gamesById;
+    private ArrayList<Platform> platformsById;
+    /**
+     * Genre of each game by id.
+     */
+    private ArrayList<String> genresById;
+    /**
+     * Games and platforms of the previous collection of the catalog
+     * by name, to be reused while loading. Null once loaded.
+     */
+    private HashMap<String, Game> knownGames;
+    private HashMap<String, Platform> knownPlatforms;
+    /**
+     * Every version in the order of the file.
+     */
+    private VersionStore versions;
+    /**
+     * Rows of the versions of each game: the rows of the game `id` are
+     * `gameRows[gameRowStarts[id]]` to `gameRows[gameRowStarts[id + 1] - 1]`.
+     */
+    private int[] gameRowStarts;
+    private int[] gameRows;
+    /**
+     * Games supporting each platform. Rebuilt when versions
+     * are added (see `buildPlatformIndex()`).
+     */
+    private volatile PlatformIndex platformIndex;
+    /**
+     * Search of the games by name, built once loaded.
+     */
+    private GameSearchIndex searchIndex;
+    /**
+     * Sales aggregates, created on first use and dropped
+     * when versions are added.
+     */
+    private volatile SalesAnalytics analytics;
+
+    /**
+     * Immutable index of the games of each platform, by platform id.
+     */
+    private static class PlatformIndex {
+        /**
+         * Sorted names of the games supporting each platform.
+         */
+        final List<List<String>> gameNames;
+        /**
+         * Sorted names of every game.
+         */
+        final List<String> allGameNames;
+        /**
+         * Compatibility matrix: ids of the games supporting each platform.
+         * Never modified once built.
+         */
+        final BitSet[] gameIds;
+
+        PlatformIndex(List<List<String>> gameNames, List<String> allGameNames, BitSet[] gameIds) {
+            this.gameNames = gameNames;
+            this.allGameNames = allGameNames;
+            this.gameIds = gameIds;
+        }
+    }
     
     /**
-     * Parses the CSV and creates the game collection
+     * Creates the game collection from the binary snapshot of the CSV if it
+     * is up to date, or parses the CSV and writes the snapshot otherwise.
      * @param dataPath CSV file path
      */
     public GameCollection(String dataPath) {
+        this(dataPath, defaultLoader());
+    }
 
-        this.games = new HashMap<>();
-        this.platforms = new HashMap<>();
+    /**
+     * Parses the CSV and creates the game collection,
+     * as the first collection of a new catalog.
+     * @param dataPath CSV file path
+     * @param loader strategy reading the file. Every loader produces the same collection.
+     */
+    public GameCollection(String dataPath, CatalogLoader loader) {
+        this(dataPath, loader, CatalogFilter.DEFAULT);
+    }
 
-        try (Reader reader = new FileReader(dataPath)) {
-            try (CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT.builder()
-                    .setHeader(CSVHeader.class)
-                    .setSkipHeaderRecord(true)
-                    .build())
-            ) {
-                // for each line
-                for (CSVRecord record : parser) {
-                    int year;
-                    try {
-                        year = Integer.parseInt(record.get(CSVHeader.YEAR));
-                    } catch (NumberFormatException e) {
-                        year = 0;
-                    }
-                    
-                    float globalSales = Float.parseFloat(record.get(CSVHeader.GLOBAL_SALES));
-
-                    // keep games matching requirements 
-                    if (globalSales > 0.5 && year >= 2010) {
-
-                        // platform
-                        String platformName = record.get(CSVHeader.PLATFORM);
-                        if (platforms.get(platformName) == null) {
-                            platforms.put(platformName, new Platform(platformName));
-                        }
-
-                        // game
-                        String name = record.get(CSVHeader.NAME);
-                        String genre = record.get(CSVHeader.GENRE);
-
-                        if (games.get(name) == null) {
-                            // new game, create the game instance
-                            Game game = new Game(name, genre);
-                            games.put(name, game);    
-                        }
-                        
-                        // game version
-                        Game game = games.get(name);
-                        Platform platform = platforms.get(platformName);
-                        String publisher = record.get(CSVHeader.PUBLISHER);
-                        GameVersion version = new GameVersion(game, platform, year, publisher, globalSales);
-                        game.addGameVersion(version);
-                        platform.addGameVersion(version);
-                    }
-                }
-            }
+    /**
+     * Parses the CSV and creates the game collection from the lines accepted
+     * by the filter, as the first collection of a new catalog.
+     * @param dataPath CSV file path
+     * @param loader strategy reading the file. Every loader produces the same collection.
+     * @param filter lines of the file that are part of the collection (kept by reloads)
+     */
+    public GameCollection(String dataPath, CatalogLoader loader, CatalogFilter filter) {
+        this(new Catalog());
+
+        try {
+            load(dataPath, loader, filter);
         } catch (IOException e) {
             System.err.println("The file could not be loaded:");
             e.printStackTrace();
             System.exit(-1);
         }
+    }
+
+    /**
+     * Empty collection of a catalog, reusing the games and
+     * platforms of the current collection of the catalog.
+     * @param catalog
+     */
+    private GameCollection(Catalog catalog) {
+        this.catalog = catalog;
+        this.games = new HashMap<>();
+        this.platforms = new HashMap<>();
+        this.gamesById = new ArrayList<>();
+        this.platformsById = new ArrayList<>();
+        this.genresById = new ArrayList<>();
+        this.knownGames = new HashMap<>();
+        this.knownPlatforms = new HashMap<>();
+
+        GameCollection previous = catalog.get();
+        if (previous != null) {
+            gamesById.addAll(previous.gamesById);
+            platformsById.addAll(previous.platformsById);
+            genresById.addAll(previous.genresById);
+            for (Game game : gamesById) {
+                knownGames.put(game.getName(), game);
+            }
+            for (Platform platform : platformsById) {
+                knownPlatforms.put(platform.getName(), platform);
+            }
+        }
 
-        System.out.println("Loaded " + games.size() + " games and " + platforms.size() + " platforms.");
+        this.versions = new VersionStore(gamesById, platformsById);
+    }
+
+    /**
+     * Loads the next collection of a catalog, and makes it the current one.
+     * @param dataPath CSV file path
+     * @param loader strategy reading the file
+     * @param filter lines of the file that are part of the collection
+     * @param catalog
+     * @return the new collection
+     * @throws IOException if the file can't be loaded (the catalog is left untouched).
+     */
+    static GameCollection reload(String dataPath, CatalogLoader loader, CatalogFilter filter, Catalog catalog) throws IOException {
+        GameCollection collection = new GameCollection(catalog);
+        collection.load(dataPath, loader, filter);
+        return collection;
+    }
+
+    /**
+     * Loading from the binary snapshot of the CSV if it is up to date,
+     * or parsing the CSV and writing the snapshot otherwise.
+     * @return
+     */
+    static CatalogLoader defaultLoader() {
+        return new SnapshotCatalogLoader(new CSVCatalogLoader());
+    }
+
+    private void load(String dataPath, CatalogLoader loader, CatalogFilter filter) throws IOException {
+        this.dataPath = dataPath;
+        this.filter = filter;
+        this.loadReport = new CatalogLoadReport(filter);
+        loader.load(dataPath, filter, this);
+        knownGames = null;
+        knownPlatforms = null;
+        loadReport.setRowsKept(versions.size());
+        loadReport.setCollectionSize(games.size(), platforms.size());
+
+        long start = System.nanoTime();
+        buildVersionIndex();
+        buildPlatformIndex();
+        searchIndex = new GameSearchIndex(gamesById, versions);
+        loadReport.phaseCompleted("index", start);
+
+        catalog.publish(this);
+    }
+
+    /**
+     * Parses the year column. Unknown years ("N/A") are read as 0.
+     * @param value raw column value
+     * @return
+     */
+    static int parseYear(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Adds a CSV line accepted by the filter to the collection, creating the game
+     * and the platform if they do not exist yet.
+     * Lines must be added in the order of the file, as the genre of a game
+     * is the one of its first line.
+     * Sales are the NA, EU, JP, Other and Global columns.
+     */
+    void addRecord(String name, String platformName, int year, String genre, String publisher,
+            float naSales, float euSales, float jpSales, float otherSales, float globalSales) {
+        // platform
+        Platform platform = platforms.get(platformName);
+        if (platform == null) {
+            platform = knownPlatforms.get(platformName);
+            if (platform == null) {
+                platform = new Platform(platformsById.size(), platformName);
+                platformsById.add(platform);
+            }
+            platforms.put(platformName, platform);
+        }
+
+        // game
+        Game game = games.get(name);
+        if (game == null) {
+            game = knownGames.get(name);
+            if (game == null) {
+                // new game, create the game instance
+                game = new Game(gamesById.size(), name, catalog);
+                gamesById.add(game);
+                genresById.add(genre);
+            } else {
+                genresById.set(game.getId(), genre);
+            }
+            games.put(name, game);
+        }
+
+        // game version
+        versions.add(game, platform, year, publisher, naSales, euSales, jpSales, otherSales, globalSales);
+
+        // out of sync
+        platformIndex = null;
+        analytics = null;
+    }
+
+    /**
+     * Groups the rows of the versions by game, in the order of the file
+     * (counting sort on the game id column).
+     */
+    private void buildVersionIndex() {
+        int[] starts = new int[gamesById.size() + 1];
+        for (int row = 0; row < versions.size(); row++) {
+            starts[versions.getGameId(row) + 1]++;
+        }
+        for (int id = 0; id < gamesById.size(); id++) {
+            starts[id + 1] += starts[id];
+        }
+
+        int[] rows = new int[versions.size()];
+        int[] next = Arrays.copyOf(starts, gamesById.size());
+        for (int row = 0; row < versions.size(); row++) {
+            rows[next[versions.getGameId(row)]++] = row;
+        }
+
+        gameRowStarts = starts;
+        gameRows = rows;
+    }
+
+    /**
+     * Builds the immutable index of the games for each platform,
+     * from the versions each platform holds.
+     * @return the index
+     */
+    private synchronized PlatformIndex buildPlatformIndex() {
+        PlatformIndex index = platformIndex;
+        if (index != null) return index;
+
+        ArrayList<List<String>> names = new ArrayList<>(platformsById.size());
+        BitSet[] ids = new BitSet[platformsById.size()];
+        for (int p = 0; p < ids.length; p++) {
+            ids[p] = new BitSet(gamesById.size());
+        }
+        // one pass over the id columns
+        for (int row = 0; row < versions.size(); row++) {
+            ids[versions.getPlatformId(row)].set(versions.getGameId(row));
+        }
+        for (BitSet platformIds : ids) {
+            TreeSet<String> platformNames = new TreeSet<>();
+            for (int id = platformIds.nextSetBit(0); id >= 0; id = platformIds.nextSetBit(id + 1)) {
+                platformNames.add(gamesById.get(id).getName());
+            }
+            names.add(List.copyOf(platformNames));
+        }
+
+        index = new PlatformIndex(Collections.unmodifiableList(names), List.copyOf(new TreeSet<>(games.keySet())), ids);
+        platformIndex = index;
+        return index;
+    }
+
+    private PlatformIndex getPlatformIndex() {
+        PlatformIndex index = platformIndex;
+        return (index == null) ? buildPlatformIndex() : index;
+    }
+
+    /**
+     * Checks that a platform is one of this collection.
+     * Platforms of another collection may have the same id.
+     * @param platform
+     * @return
+     */
+    private boolean contains(Platform platform) {
+        return getPlatform(platform.getId()) == platform;
+    }
+
+    private boolean contains(Game game) {
+        return getGame(game.getId()) == game;
+    }
+
+    /**
+     * Path of the file the collection was loaded from.
+     * @return
+     */
+    public String getDataPath() {
+        return dataPath;
+    }
+
+    /**
+     * Lines of the file that are part of the collection.
+     * @return
+     */
+    public CatalogFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Lines scanned and kept, and duration of each phase of the loading.
+     * @return
+     */
+    public CatalogLoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Catalog of the collection.
+     * @return
+     */
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Versions of a game in this collection, in the order of the file.
+     * @param game
+     * @return
+     */
+    public List<GameVersion> getVersions(Game game) {
+        if (!contains(game)) return List.of();
+
+        int start = gameRowStarts[game.getId()];
+        int end = gameRowStarts[game.getId() + 1];
+        ArrayList<GameVersion> gameVersions = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            gameVersions.add(versions.get(gameRows[i]));
+        }
+        return gameVersions;
+    }
+
+    /**
+     * Genre of a game in this collection
+     * (the one of the last file it was listed in).
+     * @param game
+     * @return the genre, or null if the game is not in the collection.
+     */
+    public String getGenre(Game game) {
+        return contains(game) ? genresById.get(game.getId()) : null;
+    }
+
+    /**
+     * Returns if the game has a version supporting the platform in this collection.
+     * @param game
+     * @param platform
+     * @return
+     */
+    public boolean supportsPlatform(Game game, Platform platform) {
+        if (!contains(game) || !contains(platform)) return false;
+        return getPlatformIndex().gameIds[platform.getId()].get(game.getId());
+    }
+
+    /**
+     * Every version of the collection, in the order they were loaded.
+     * @return
+     */
+    VersionStore getVersionStore() {
+        return versions;
+    }
+
+    /**
+     * Sales aggregates of the versions of the collection.
+     * @return
+     */
+    public SalesAnalytics getAnalytics() {
+        SalesAnalytics a = analytics;
+        if (a == null) {
+            synchronized (this) {
+                a = analytics;
+                if (a == null) {
+                    a = new SalesAnalytics(versions, genresById, platformsById, ForkJoinPool.commonPool());
+                    analytics = a;
+                }
+            }
+        }
+        return a;
     }
 
     public int getGamesCount() {
@@ -128,29 +486,101 @@ public class GameCollection {
     }
 
     /**
-     * Only return games for the specified platform
+     * Only return games for the specified platform,
+     * sorted by name.
      * @param platform
      * @return
      */
     public List<String> getGameNames(Platform platform) {
-        return games.values().stream()
-                .filter(game -> game.supportsPlatform(platform))
-                .map(game -> game.getName())
-                .toList();
+        if (platform instanceof NullPlatform) return List.of();
+
+        if (!contains(platform)) return List.of();
+        return getPlatformIndex().gameNames.get(platform.getId());
+    }
+
+    /**
+     * Ids of the games supporting a platform.
+     * @param platform
+     * @return a copy of the row of the compatibility matrix
+     */
+    public BitSet getCompatibleGames(Platform platform) {
+        if (!contains(platform)) return new BitSet();
+        return (BitSet) getPlatformIndex().gameIds[platform.getId()].clone();
+    }
+
+    /**
+     * Games a player owns on a platform, sorted by name.
+     * @param player
+     * @param platform
+     * @return
+     */
+    public List<Game> getOwnedGames(RegisteredPlayer player, Platform platform) {
+        if (!contains(platform)) return List.of();
+
+        BitSet ids = player.getOwnedGameIds();
+        ids.and(getPlatformIndex().gameIds[platform.getId()]);
+
+        ArrayList<Game> owned = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            owned.add(gamesById.get(id));
+        }
+        owned.sort(Comparator.comparing(Game::getName));
+        return owned;
     }
 
     public Set<String> getGameNames() {
         return games.keySet();
     }
 
+    /**
+     * Names of every game, sorted.
+     * @return
+     */
+    public List<String> getSortedGameNames() {
+        return getPlatformIndex().allGameNames;
+    }
+
+    /**
+     * Games matching a search, best matches first.
+     * Typos are tolerated (see `GameSearchIndex`).
+     * @param query
+     * @param n maximum number of games
+     * @param among ids of the games to search, or null to search every game
+     * @return
+     */
+    public List<Game> searchGames(String query, int n, BitSet among) {
+        return searchIndex.search(query, n, among);
+    }
+
     public Game getGame(String name) {
         return games.get(name);
     }
 
+    /**
+     * Games missing from the file keep their id and are still returned.
+     * @param id
+     * @return the game, or null if there is none with this id.
+     */
+    public Game getGame(int id) {
+        return (id >= 0 && id < gamesById.size()) ? gamesById.get(id) : null;
+    }
+
     public Platform getPlatform(String name) {
         return platforms.get(name);
     }
 
+    /**
+     * @param id
+     * @return the platform, or null if there is none with this id.
+     */
+    public Platform getPlatform(int id) {
+        return (id >= 0 && id < platformsById.size()) ? platformsById.get(id) : null;
+    }
+
+    public int getPlatformsCount() {
+        return platforms.size();
+    }
+
     public Set<String> getPlatforms() {
         return platforms.keySet();
     }
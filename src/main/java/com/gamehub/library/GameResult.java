@@ -36,6 +36,14 @@ public class GameResult {
     private final Game game;
 
     public GameResult(Game game, RegisteredPlayer winner, RegisteredPlayer loser) {
+        this(game, winner, loser, true);
+    }
+
+    /**
+     * @param record add the result to the game. Batches are
+     * created unrecorded then added at once with `Game.addGameResults()`.
+     */
+    GameResult(Game game, RegisteredPlayer winner, RegisteredPlayer loser, boolean record) {
         if (game == null || winner == null || loser == null) {
             throw new GameResultException("parameters can't be null");
         }
@@ -43,7 +51,7 @@ public class GameResult {
         this.winner = winner;
         this.loser = loser;
         this.game = game;
-        game.addGameResult(this);
+        if (record) game.addGameResult(this);
     }
 
     public RegisteredPlayer getWinner() {
@@ -53,4 +61,8 @@ public class GameResult {
     public RegisteredPlayer getLoser() {
         return loser;
     }
+
+    public Game getGame() {
+        return game;
+    }
 }
@@ -0,0 +1,60 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.List;
+import java.util.Set;
+
+import com.gamehub.user.RegisteredPlayer;
+
+/**
+ * Notified when the results of a game change.
+ * Listeners are called after the game counters are updated.
+ */
+public interface GameResultListener {
+    /**
+     * Called when a result is added to the game.
+     * @param result the new result
+     */
+    public void resultAdded(GameResult result);
+
+    /**
+     * Called when a batch of results is added to the game at once.
+     * @param results the new results, in order
+     */
+    public default void resultsAdded(List<GameResult> results) {
+        for (GameResult result : results) {
+            resultAdded(result);
+        }
+    }
+
+    /**
+     * Called when a player leaves the game, removing its results.
+     * @param game the game left
+     * @param removed the player that left
+     * @param opponents players that lost results against the removed player
+     */
+    public void playerRemoved(Game game, RegisteredPlayer removed, Set<RegisteredPlayer> opponents);
+}
@@ -0,0 +1,419 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Search of games by name, for selection menus.
+ * 
+ * Names are normalized (lower case, no accent, no punctuation). A trie
+ * holds every name and every suffix of a name starting at a word, so
+ * "mario" finds "Super Mario Bros.". When no name or word starts with
+ * the query, an index of the trigrams of the names finds the names close
+ * to the query, to tolerate typos ("zelad" finds "Zelda").
+ * 
+ * Matches are ranked: exact name, then name prefix, then word prefix,
+ * then trigram similarity; best sellers first on equal rank.
+ * The index is immutable once built. Scores are kept in arrays indexed
+ * by game id, reused between the queries of a thread.
+ */
+public class GameSearchIndex {
+    private static final int EXACT = 3_000;
+    private static final int NAME_PREFIX = 2_000;
+    private static final int WORD_PREFIX = 1_000;
+    /**
+     * Fuzzy scores are the similarity of the trigrams, below `WORD_PREFIX`.
+     */
+    private static final int MAX_SIMILARITY = WORD_PREFIX - 1;
+    /**
+     * Share of the trigrams of the query a name must contain to be a fuzzy match.
+     */
+    private static final float MIN_FUZZY_MATCH = 0.4f;
+
+    private final List<Game> games;
+    /**
+     * Global sales of each game by id, to rank equal matches.
+     */
+    private final float[] sales;
+
+    // keys (names and word suffixes), sorted
+    private final int[] keyGames;
+    private final int[] keyLengths;
+    private final boolean[] keyIsName;
+
+    // trie over the sorted keys, the root is the node 0.
+    // The keys under a node are the range [from, to) of the sorted keys.
+    private char[] labels;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] lastChild;
+    private int[] from;
+    private int[] to;
+    private int nodesCount;
+
+    // trigram -> ids of the games having it, and number of trigrams of each game
+    private final HashMap<Long, int[]> trigrams;
+    private final int[] trigramsCount;
+
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * @param games games by id
+     * @param versions versions of the games, for their sales.
+     *        Games without versions are not indexed.
+     */
+    GameSearchIndex(List<Game> games, VersionStore versions) {
+        this.games = games;
+        this.sales = new float[games.size()];
+        BitSet listed = new BitSet(games.size());
+        for (int row = 0; row < versions.size(); row++) {
+            sales[versions.getGameId(row)] += versions.getGlobalSales(row);
+            listed.set(versions.getGameId(row));
+        }
+
+        // keys
+        String[] names = new String[games.size()];
+        ArrayList<Key> keys = new ArrayList<>();
+        for (Game game : games) {
+            if (!listed.get(game.getId())) continue;
+            String name = normalize(game.getName());
+            names[game.getId()] = name;
+            for (int i = 0; i < name.length(); i++) {
+                if (i == 0 || name.charAt(i - 1) == ' ') {
+                    keys.add(new Key(name.substring(i), game.getId(), i == 0));
+                }
+            }
+        }
+        keys.sort((k1, k2) -> k1.text.compareTo(k2.text));
+        keyGames = new int[keys.size()];
+        keyLengths = new int[keys.size()];
+        keyIsName = new boolean[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            keyGames[i] = keys.get(i).game;
+            keyLengths[i] = keys.get(i).text.length();
+            keyIsName[i] = keys.get(i).isName;
+        }
+        buildTrie(keys);
+
+        // trigrams
+        HashMap<Long, ArrayList<Integer>> postings = new HashMap<>();
+        trigramsCount = new int[games.size()];
+        for (int id = 0; id < names.length; id++) {
+            if (names[id] == null) continue;
+            long[] grams = trigramsOf(names[id]);
+            trigramsCount[id] = grams.length;
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, k -> new ArrayList<>()).add(id);
+            }
+        }
+        trigrams = new HashMap<>(postings.size() * 2);
+        for (var entry : postings.entrySet()) {
+            trigrams.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        scratch = ThreadLocal.withInitial(() -> new Scratch(games.size()));
+    }
+
+    private static class Key {
+        private final String text;
+        private final int game;
+        private final boolean isName;
+
+        private Key(String text, int game, boolean isName) {
+            this.text = text;
+            this.game = game;
+            this.isName = isName;
+        }
+    }
+
+    /**
+     * Inserts the sorted keys in the trie. As keys come in order, the child
+     * to follow is always the last one, and the keys under a node are contiguous.
+     * @param keys
+     */
+    private void buildTrie(List<Key> keys) {
+        int capacity = 1024;
+        labels = new char[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        lastChild = new int[capacity];
+        from = new int[capacity];
+        to = new int[capacity];
+        nodesCount = 0;
+        newNode('\0', 0);
+
+        for (int k = 0; k < keys.size(); k++) {
+            String text = keys.get(k).text;
+            int node = 0;
+            to[node] = k + 1;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int child = lastChild[node];
+                if (child < 0 || labels[child] != c) {
+                    int created = newNode(c, k);
+                    if (child < 0) firstChild[node] = created;
+                    else nextSibling[child] = created;
+                    lastChild[node] = created;
+                    child = created;
+                }
+                node = child;
+                to[node] = k + 1;
+            }
+        }
+        lastChild = null; // only needed to build
+    }
+
+    private int newNode(char label, int firstKey) {
+        if (nodesCount == labels.length) {
+            int capacity = nodesCount * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+        }
+        int node = nodesCount++;
+        labels[node] = label;
+        firstChild[node] = -1;
+        nextSibling[node] = -1;
+        lastChild[node] = -1;
+        from[node] = firstKey;
+        to[node] = firstKey + 1;
+        return node;
+    }
+
+    /**
+     * @param prefix
+     * @return the node of the prefix, or -1 if no key starts with it.
+     */
+    private int find(String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            char c = prefix.charAt(i);
+            int child = firstChild[node];
+            while (child >= 0 && labels[child] != c) child = nextSibling[child];
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Lower case letters and digits, words separated by one space.
+     * Accents and apostrophes are removed.
+     * @param name
+     * @return
+     */
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else if (c == '\'' || c == '\u2019' || Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        if (space && sb.length() > 0) sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+
+    /**
+     * Distinct trigrams of a normalized text, padded with a space at both ends.
+     * @param text
+     * @return
+     */
+    private static long[] trigramsOf(String text) {
+        String padded = " " + text + " ";
+        if (padded.length() < 3) return new long[0];
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) grams[distinct++] = grams[i];
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Score of each game by id, and the games touched by the query.
+     * Trigrams shared with the query are counted apart from the scores.
+     */
+    private static class Scratch {
+        private final int[] scores;
+        private final int[] touched;
+        private int touchedCount = 0;
+        private final int[] shared;
+        private final int[] sharing;
+        private int sharingCount = 0;
+
+        private Scratch(int gamesCount) {
+            scores = new int[gamesCount];
+            touched = new int[gamesCount];
+            shared = new int[gamesCount];
+            sharing = new int[gamesCount];
+        }
+
+        /**
+         * Keeps the best score of a game.
+         * @param game
+         * @param score positive score
+         */
+        private void add(int game, int score) {
+            if (scores[game] == 0) touched[touchedCount++] = game;
+            if (score > scores[game]) scores[game] = score;
+        }
+
+        private void share(int game) {
+            if (shared[game]++ == 0) sharing[sharingCount++] = game;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+            for (int i = 0; i < sharingCount; i++) {
+                shared[sharing[i]] = 0;
+            }
+            sharingCount = 0;
+        }
+    }
+
+    /**
+     * Best matches of a query, best first.
+     * @param query text typed by the user
+     * @param n maximum number of matches
+     * @param among ids of the games that can match, or null for every game
+     * @return
+     */
+    public List<Game> search(String query, int n, BitSet among) {
+        String text = normalize(query);
+        if (n <= 0 || text.isEmpty()) return new ArrayList<>();
+
+        Scratch s = scratch.get();
+        try {
+            if (collectPrefix(text, among, s) == 0) collectSimilar(text, among, s);
+            return top(n, s);
+        } finally {
+            s.reset();
+        }
+    }
+
+    public List<Game> search(String query, int n) {
+        return search(query, n, null);
+    }
+
+    /**
+     * Scores the games with a name or a word starting with the text.
+     * @return the number of games found
+     */
+    private int collectPrefix(String text, BitSet among, Scratch s) {
+        int node = find(text);
+        if (node < 0) return 0;
+
+        for (int k = from[node]; k < to[node]; k++) {
+            int game = keyGames[k];
+            if (among != null && !among.get(game)) continue;
+            int score = !keyIsName[k] ? WORD_PREFIX
+                : (keyLengths[k] == text.length()) ? EXACT : NAME_PREFIX;
+            s.add(game, score);
+        }
+        return s.touchedCount;
+    }
+
+    /**
+     * Scores the games sharing enough trigrams with the text,
+     * by similarity (Dice coefficient of the trigram sets).
+     */
+    private void collectSimilar(String text, BitSet among, Scratch s) {
+        long[] grams = trigramsOf(text);
+        if (grams.length == 0) return;
+
+        for (long gram : grams) {
+            int[] ids = trigrams.get(gram);
+            if (ids == null) continue;
+            for (int game : ids) {
+                if (among != null && !among.get(game)) continue;
+                s.share(game);
+            }
+        }
+
+        int minShared = (int) Math.ceil(grams.length * MIN_FUZZY_MATCH);
+        for (int i = 0; i < s.sharingCount; i++) {
+            int game = s.sharing[i];
+            int count = s.shared[game];
+            if (count < minShared) continue;
+            int similarity = 2 * count * MAX_SIMILARITY / (grams.length + trigramsCount[game]);
+            if (similarity > 0) s.add(game, similarity);
+        }
+    }
+
+    private List<Game> top(int n, Scratch s) {
+        // best matches so far, sorted by decreasing score
+        int[] best = new int[n];
+        int size = 0;
+
+        for (int i = 0; i < s.touchedCount; i++) {
+            int game = s.touched[i];
+            if (size == best.length && !isBetter(game, best[size - 1], s)) continue;
+
+            // insertion in the sorted array
+            int pos = (size < best.length) ? size++ : size - 1;
+            while (pos > 0 && isBetter(game, best[pos - 1], s)) {
+                best[pos] = best[pos - 1];
+                pos--;
+            }
+            best[pos] = game;
+        }
+
+        List<Game> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) result.add(games.get(best[i]));
+        return result;
+    }
+
+    private boolean isBetter(int game1, int game2, Scratch s) {
+        int score1 = s.scores[game1];
+        int score2 = s.scores[game2];
+        if (score1 != score2) return score1 > score2;
+        if (sales[game1] != sales[game2]) return sales[game1] > sales[game2];
+        return game1 < game2;
+    }
+}
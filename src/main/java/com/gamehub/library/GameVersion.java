@@ -25,35 +25,63 @@ SOFTWARE.
 package com.gamehub.library;
 
 /**
- * Represents a version of a game for a specific platform
+ * Represents a version of a game for a specific platform.
+ * Lightweight view over a row of the `VersionStore` of the collection.
  */
 public class GameVersion {
-    private final Game game;
-    private final Platform platform;
-    private final int year;
-    private final String publisher;
-    private final Float globalSales;
+    private final VersionStore store;
+    private final int row;
 
-    public GameVersion(Game game, Platform platform, int year, String publisher, Float globalSales) {
-        this.game = game;
-        this.platform = platform;
-        this.year = year;
-        this.publisher = publisher;
-        this.globalSales = globalSales;
+    GameVersion(VersionStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    public Game getGame() {
+        return store.getGame(row);
     }
 
     public Platform getPlatform() {
-        return platform;
+        return store.getPlatform(row);
+    }
+
+    public int getYear() {
+        return store.getYear(row);
+    }
+
+    public String getPublisher() {
+        return store.getPublisher(row);
+    }
+
+    public float getGlobalSales() {
+        return store.getGlobalSales(row);
+    }
+
+    public float getSales(SalesRegion region) {
+        return store.getSales(row, region);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof GameVersion)) return false;
+        GameVersion other = (GameVersion) obj;
+        return store == other.store && row == other.row;
+    }
+
+    @Override
+    public int hashCode() {
+        return row;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         
-        sb.append("platform: " + platform.getName() + "\n");
-        sb.append("year: " + year + "\n");
-        sb.append("publisher: " + publisher + "\n");
-        sb.append("globalSales: " + globalSales + " millions of copies\n");
+        sb.append("platform: " + getPlatform().getName() + "\n");
+        sb.append("year: " + getYear() + "\n");
+        sb.append("publisher: " + getPublisher() + "\n");
+        sb.append("globalSales: " + getGlobalSales() + " millions of copies\n");
 
         return sb.toString();
     }
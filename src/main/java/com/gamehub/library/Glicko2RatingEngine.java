@@ -0,0 +1,204 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.Arrays;
+
+import com.gamehub.user.RegisteredPlayer;
+
+/**
+ * Glicko-2 rating (Mark E. Glickman, "Example of the Glicko-2 system").
+ * 
+ * Each player also has a rating deviation (uncertainty) and a volatility.
+ * Every match is treated as a rating period of one game, so players are
+ * updated as soon as a result is recorded.
+ */
+public class Glicko2RatingEngine extends RatingEngine {
+    public static final double INITIAL_DEVIATION = 350;
+    public static final double INITIAL_VOLATILITY = 0.06;
+    public static final double DEFAULT_TAU = 0.5;
+
+    /**
+     * Conversion factor between the Glicko and Glicko-2 scales.
+     */
+    private static final double SCALE = 173.7178;
+    private static final double EPSILON = 0.000001;
+
+    private final double tau;
+    // Glicko-2 scale
+    private double[] mu;
+    private double[] phi;
+    private double[] sigma;
+
+    public Glicko2RatingEngine() {
+        this(DEFAULT_TAU);
+    }
+
+    /**
+     * @param tau constraint on the change of volatility over time (0.3 to 1.2)
+     */
+    public Glicko2RatingEngine(double tau) {
+        this.tau = tau;
+        reset();
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (mu.length < capacity) {
+            int length = grownLength(mu.length, capacity);
+            mu = Arrays.copyOf(mu, length);
+            phi = Arrays.copyOf(phi, length);
+            sigma = Arrays.copyOf(sigma, length);
+        }
+    }
+
+    @Override
+    protected void initialize(int slot) {
+        mu[slot] = 0;
+        phi[slot] = INITIAL_DEVIATION / SCALE;
+        sigma[slot] = INITIAL_VOLATILITY;
+    }
+
+    @Override
+    protected void reset() {
+        mu = new double[0];
+        phi = new double[0];
+        sigma = new double[0];
+    }
+
+    @Override
+    protected void update(int winnerSlot, int loserSlot) {
+        double winnerMu = mu[winnerSlot];
+        double winnerPhi = phi[winnerSlot];
+        // both players are updated from the ratings before the match
+        updatePlayer(winnerSlot, mu[loserSlot], phi[loserSlot], 1);
+        updatePlayer(loserSlot, winnerMu, winnerPhi, 0);
+    }
+
+    static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    /**
+     * Expected score of a player against an opponent (E in the paper).
+     * @param g `g(opponentPhi)`
+     */
+    static double expected(double mu, double opponentMu, double g) {
+        return 1 / (1 + Math.exp(-g * (mu - opponentMu)));
+    }
+
+    /**
+     * Updates a player after a single match.
+     * @param slot player
+     * @param opponentMu opponent rating before the match
+     * @param opponentPhi opponent deviation before the match
+     * @param score 1 for a win, 0 for a loss
+     */
+    private void updatePlayer(int slot, double opponentMu, double opponentPhi, double score) {
+        double g = g(opponentPhi);
+        double expected = expected(mu[slot], opponentMu, g);
+        ratePeriod(mu, phi, sigma, slot, g * g * expected * (1 - expected), g * (score - expected), tau);
+    }
+
+    /**
+     * Updates a player after a rating period (steps 3 to 7), on the Glicko-2 scale.
+     * @param mu ratings, updated at `slot`
+     * @param phi deviations, updated at `slot`
+     * @param sigma volatilities, updated at `slot`
+     * @param slot player
+     * @param vInverse sum over the matches of g(phi_j)^2 E (1 - E), i.e. 1 / v
+     * @param improvement sum over the matches of g(phi_j) (s_j - E)
+     * @param tau constraint on the change of volatility
+     */
+    static void ratePeriod(double[] mu, double[] phi, double[] sigma, int slot,
+            double vInverse, double improvement, double tau) {
+        double p = phi[slot];
+        double v = 1 / vInverse;
+        double delta = v * improvement;
+
+        double newSigma = volatility(p, sigma[slot], v, delta, tau);
+        double preRatingPhi = Math.sqrt(p * p + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (preRatingPhi * preRatingPhi) + 1 / v);
+
+        mu[slot] = mu[slot] + newPhi * newPhi * improvement;
+        phi[slot] = newPhi;
+        sigma[slot] = newSigma;
+    }
+
+    /**
+     * Computes the new volatility with the Illinois algorithm (step 5).
+     */
+    private static double volatility(double phi, double sigma, double v, double delta, double tau) {
+        double a = Math.log(sigma * sigma);
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double A = a;
+        double B;
+        if (delta2 > phi2 + v) {
+            B = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (f(a - k * tau, a, phi2, v, delta2, tau) < 0) k++;
+            B = a - k * tau;
+        }
+
+        double fA = f(A, a, phi2, v, delta2, tau);
+        double fB = f(B, a, phi2, v, delta2, tau);
+        while (Math.abs(B - A) > EPSILON) {
+            double C = A + (A - B) * fA / (fB - fA);
+            double fC = f(C, a, phi2, v, delta2, tau);
+            if (fC * fB <= 0) {
+                A = B;
+                fA = fB;
+            } else {
+                fA = fA / 2;
+            }
+            B = C;
+            fB = fC;
+        }
+        return Math.exp(A / 2);
+    }
+
+    private static double f(double x, double a, double phi2, double v, double delta2, double tau) {
+        double ex = Math.exp(x);
+        double d = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2 * d * d) - (x - a) / (tau * tau);
+    }
+
+    @Override
+    protected double rating(int slot) {
+        return SCALE * mu[slot] + INITIAL_RATING;
+    }
+
+    /**
+     * Rating deviation of a player, on the Glicko scale.
+     * @param p
+     * @return the deviation, `INITIAL_DEVIATION` if the player has not played yet.
+     */
+    public double getDeviation(RegisteredPlayer p) {
+        return read(p, INITIAL_DEVIATION, slot -> SCALE * phi[slot]);
+    }
+}
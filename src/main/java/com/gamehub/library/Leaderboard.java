@@ -0,0 +1,184 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.gamehub.user.RegisteredPlayer;
+import com.gamehub.utils.RankedSkipList;
+
+/**
+ * Ranking of the players of a game for a metric.
+ * 
+ * The leaderboard listens to the game results and only moves the players
+ * whose score changed, so top-K and rank queries never rescan the results.
+ * Players are ranked once they played at least one match.
+ */
+public class Leaderboard implements GameResultListener {
+    private final Game game;
+    private final LeaderboardMetric metric;
+
+    /**
+     * Higher scores first, ties broken by username.
+     */
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::getScore).reversed()
+            .thenComparing(e -> e.getPlayer().getUsername());
+
+    private final RankedSkipList<Entry> ranking;
+    /**
+     * Current entry of each ranked player.
+     */
+    private final HashMap<RegisteredPlayer, Entry> entries;
+
+    /**
+     * Position of a player in the leaderboard.
+     */
+    public static class Entry {
+        private final RegisteredPlayer player;
+        private final double score;
+
+        Entry(RegisteredPlayer player, double score) {
+            this.player = player;
+            this.score = score;
+        }
+
+        public RegisteredPlayer getPlayer() {
+            return player;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Builds the leaderboard from the current results of the game.
+     * It must then be registered as a listener of the game
+     * (see `Game.getLeaderboard()`).
+     * @param game
+     * @param metric
+     */
+    Leaderboard(Game game, LeaderboardMetric metric) {
+        this.game = game;
+        this.metric = metric;
+        this.ranking = new RankedSkipList<>(ORDER);
+        this.entries = new HashMap<>();
+
+        refresh();
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public LeaderboardMetric getMetric() {
+        return metric;
+    }
+
+    /**
+     * Moves a player to its current score, or removes it
+     * if it has no result anymore.
+     */
+    private void update(RegisteredPlayer p) {
+        Entry previous = entries.remove(p);
+        if (previous != null) ranking.remove(previous);
+
+        if (game.getPlayedCount(p) > 0) {
+            Entry entry = new Entry(p, metric.score(game, p));
+            entries.put(p, entry);
+            ranking.add(entry);
+        }
+    }
+
+    @Override
+    public synchronized void resultAdded(GameResult result) {
+        update(result.getWinner());
+        update(result.getLoser());
+    }
+
+    @Override
+    public synchronized void resultsAdded(List<GameResult> results) {
+        // move each player once
+        HashSet<RegisteredPlayer> players = new HashSet<>();
+        for (GameResult result : results) {
+            players.add(result.getWinner());
+            players.add(result.getLoser());
+        }
+        for (RegisteredPlayer p : players) update(p);
+    }
+
+    @Override
+    public synchronized void playerRemoved(Game game, RegisteredPlayer removed, Set<RegisteredPlayer> opponents) {
+        update(removed);
+        for (RegisteredPlayer p : opponents) update(p);
+    }
+
+    /**
+     * Computes the score of every player again, for changes
+     * that are not limited to the players of a result.
+     */
+    synchronized void refresh() {
+        for (Entry entry : entries.values()) {
+            ranking.remove(entry);
+        }
+        entries.clear();
+        for (RegisteredPlayer p : game.getRankedPlayers()) {
+            update(p);
+        }
+    }
+
+    /**
+     * Number of ranked players.
+     * @return
+     */
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    /**
+     * Returns the best players, best first.
+     * @param k maximum number of players
+     * @return
+     */
+    public synchronized List<Entry> top(int k) {
+        return new ArrayList<>(ranking.range(1, k));
+    }
+
+    /**
+     * Returns the rank of a player, starting at 1.
+     * @param p
+     * @return the rank, or 0 if the player has no result for the game.
+     */
+    public synchronized int rankOf(RegisteredPlayer p) {
+        Entry entry = entries.get(p);
+        return (entry == null)? 0 : ranking.rankOf(entry);
+    }
+}
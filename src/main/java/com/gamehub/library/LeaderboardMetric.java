@@ -0,0 +1,92 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import com.gamehub.user.RegisteredPlayer;
+
+/**
+ * Score used to rank players in a `Leaderboard`.
+ * The higher, the better.
+ */
+public enum LeaderboardMetric {
+    WIN_RATIO("win ratio") {
+        @Override
+        public double score(Game game, RegisteredPlayer p) {
+            return game.getWinRatio(p);
+        }
+
+        @Override
+        public String format(double score) {
+            return String.format("%.1f%%", score * 100);
+        }
+    },
+    WINS("wins") {
+        @Override
+        public double score(Game game, RegisteredPlayer p) {
+            return game.getWins(p);
+        }
+
+        @Override
+        public String format(double score) {
+            return Long.toString((long) score);
+        }
+    },
+    RATING("rating") {
+        @Override
+        public double score(Game game, RegisteredPlayer p) {
+            return game.getRating(p);
+        }
+
+        @Override
+        public String format(double score) {
+            return String.format("%.0f", score);
+        }
+    };
+
+    private final String label;
+
+    private LeaderboardMetric(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Computes the current score of a player for the game.
+     * @param game
+     * @param p
+     * @return
+     */
+    public abstract double score(Game game, RegisteredPlayer p);
+
+    /**
+     * Display text for a score.
+     * @param score
+     * @return
+     */
+    public abstract String format(double score);
+}
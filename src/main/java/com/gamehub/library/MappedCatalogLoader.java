@@ -0,0 +1,310 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.gamehub.library.GameCollection.CSVHeader;
+
+/**
+ * Reads the CSV from a memory mapped view of the file.
+ * 
+ * Lines are only split into field offsets. The year and the global
+ * sales are parsed straight from the bytes and checked first. The platform,
+ * genre and publisher are then only decoded when the filter restricts them,
+ * and the other strings are only built for the lines that are kept.
+ * 
+ * Fields are assumed not to contain line breaks, which is the case
+ * for the sales dumps.
+ */
+public class MappedCatalogLoader implements CatalogLoader {
+    private static final int FIELDS_COUNT = CSVHeader.values().length;
+
+    /**
+     * Powers of ten exactly representable as floats.
+     */
+    private static final float[] FLOAT_POW10 = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    /**
+     * Largest integer below which all integers are exactly representable as floats.
+     */
+    private static final int FLOAT_EXACT_LIMIT = 1 << 24;
+
+    private MappedByteBuffer buffer;
+    private final int[] fieldStarts = new int[FIELDS_COUNT];
+    private final int[] fieldEnds = new int[FIELDS_COUNT];
+    /**
+     * Number of fields found by the last call to `tokenizeLine`.
+     */
+    private int lastFieldsCount;
+    private byte[] scratch = new byte[256];
+    // same charset as the FileReader of the commons-csv loading
+    private final Charset charset = Charset.defaultCharset();
+
+    @Override
+    public synchronized void load(String dataPath, CatalogFilter filter, GameCollection collection) throws IOException {
+        CatalogLoadReport report = collection.getLoadReport();
+        long phaseStart = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Path.of(dataPath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The file is too large to be mapped (" + size + " bytes).");
+            }
+            buffer = channel.map(MapMode.READ_ONLY, 0, size);
+        }
+        report.phaseCompleted("map", phaseStart);
+
+        phaseStart = System.nanoTime();
+        int scanned = 0;
+        try {
+            int limit = buffer.limit();
+            int pos = tokenizeLine(0, limit); // skip the header
+
+            while (pos < limit) {
+                int lineStart = pos;
+                pos = tokenizeLine(pos, limit);
+                int fields = lastFieldsCount;
+
+                // commons-csv ignores empty lines
+                if (fields == 1 && fieldStarts[0] == fieldEnds[0]) continue;
+                if (fields < FIELDS_COUNT) {
+                    throw new IOException("Malformed line at byte " + lineStart + ": " + fields + " fields.");
+                }
+
+                scanned++;
+                int year = parseYear(CSVHeader.YEAR.ordinal());
+                float globalSales = parseFloat(CSVHeader.GLOBAL_SALES.ordinal());
+                if (!filter.acceptsNumbers(year, globalSales)) continue;
+
+                // restricted strings are decoded first, to skip the line as early as possible
+                String platform = null;
+                String genre = null;
+                String publisher = null;
+                if (filter.restrictsPlatforms()) {
+                    platform = decode(CSVHeader.PLATFORM.ordinal());
+                    if (!filter.acceptsPlatform(platform)) continue;
+                }
+                if (filter.restrictsGenres()) {
+                    genre = decode(CSVHeader.GENRE.ordinal());
+                    if (!filter.acceptsGenre(genre)) continue;
+                }
+                if (filter.restrictsPublishers()) {
+                    publisher = decode(CSVHeader.PUBLISHER.ordinal());
+                    if (!filter.acceptsPublisher(publisher)) continue;
+                }
+
+                collection.addRecord(
+                    decode(CSVHeader.NAME.ordinal()),
+                    (platform == null) ? decode(CSVHeader.PLATFORM.ordinal()) : platform,
+                    year,
+                    (genre == null) ? decode(CSVHeader.GENRE.ordinal()) : genre,
+                    (publisher == null) ? decode(CSVHeader.PUBLISHER.ordinal()) : publisher,
+                    parseFloat(CSVHeader.NA_SALES.ordinal()),
+                    parseFloat(CSVHeader.EU_SALES.ordinal()),
+                    parseFloat(CSVHeader.JP_SALES.ordinal()),
+                    parseFloat(CSVHeader.OTHER_SALES.ordinal()),
+                    globalSales
+                );
+            }
+        } finally {
+            buffer = null;
+        }
+        report.rowsScanned(scanned);
+        report.phaseCompleted("scan", phaseStart);
+    }
+
+    /**
+     * Stores the offsets of the fields of the line starting at `pos`.
+     * Quotes are kept inside the offsets, and a trailing '\r' is excluded.
+     * @return the start of the next line
+     */
+    private int tokenizeLine(int pos, int limit) {
+        int fields = 0;
+        int i = pos;
+
+        while (true) {
+            int start = i;
+            if (i < limit && buffer.get(i) == '"') {
+                // quoted field, "" being an escaped quote
+                i++;
+                while (i < limit) {
+                    if (buffer.get(i) == '"') {
+                        if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                            i += 2;
+                        } else {
+                            i++;
+                            break;
+                        }
+                    } else {
+                        i++;
+                    }
+                }
+            }
+            while (i < limit && buffer.get(i) != ',' && buffer.get(i) != '\n') i++;
+
+            if (fields < FIELDS_COUNT) {
+                fieldStarts[fields] = start;
+                fieldEnds[fields] = i;
+            }
+            fields++;
+
+            if (i >= limit || buffer.get(i) == '\n') break;
+            i++; // ','
+        }
+
+        int last = Math.min(fields, FIELDS_COUNT) - 1;
+        if (fieldEnds[last] > fieldStarts[last] && buffer.get(fieldEnds[last] - 1) == '\r') {
+            fieldEnds[last]--;
+        }
+
+        lastFieldsCount = fields;
+        return i + 1;
+    }
+
+    private boolean isQuoted(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        return end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"';
+    }
+
+    /**
+     * Parses an integer field like `Integer.parseInt`, unknown
+     * or invalid years being read as 0 (see `GameCollection.parseYear`).
+     */
+    private int parseYear(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (isQuoted(field)) {
+            start++;
+            end--;
+        }
+        if (start == end) return 0;
+
+        boolean negative = false;
+        byte first = buffer.get(start);
+        if (first == '-' || first == '+') {
+            negative = (first == '-');
+            start++;
+            if (start == end) return 0;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') return 0;
+            value = value * 10 + (b - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) return 0;
+        }
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE) return 0;
+        return (int) value;
+    }
+
+    /**
+     * Parses a float field with the same result as `Float.parseFloat`.
+     * Plain decimals with few significant digits are computed from the bytes
+     * with a single correctly rounded division, other notations fall back
+     * to `Float.parseFloat`.
+     */
+    private float parseFloat(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (isQuoted(field)) {
+            start++;
+            end--;
+        }
+
+        int mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean dot = false;
+        boolean simple = (start < end);
+
+        for (int i = start; i < end && simple; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (dot) scale++;
+                simple = (mantissa < FLOAT_EXACT_LIMIT && scale < FLOAT_POW10.length);
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                simple = false;
+            }
+        }
+
+        if (simple && digits > 0) {
+            return mantissa / FLOAT_POW10[scale];
+        }
+        return Float.parseFloat(new String(bytes(start, end), 0, end - start, charset));
+    }
+
+    /**
+     * Builds the string of a field, removing the quotes if any.
+     */
+    private String decode(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (!isQuoted(field)) {
+            return new String(bytes(start, end), 0, end - start, charset);
+        }
+
+        // unescape "" inside quotes
+        byte[] dst = scratch(end - start);
+        int length = 0;
+        for (int i = start + 1; i < end - 1; i++) {
+            byte b = buffer.get(i);
+            dst[length++] = b;
+            if (b == '"' && i + 1 < end - 1 && buffer.get(i + 1) == '"') i++;
+        }
+        return new String(dst, 0, length, charset);
+    }
+
+    /**
+     * Copies [start, end[ into the scratch buffer.
+     */
+    private byte[] bytes(int start, int end) {
+        byte[] dst = scratch(end - start);
+        buffer.get(start, dst, 0, end - start);
+        return dst;
+    }
+
+    /**
+     * Returns the scratch buffer, grown to hold at least `length` bytes.
+     */
+    private byte[] scratch(int length) {
+        if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+        return scratch;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import com.gamehub.user.RegisteredPlayer;
+
+/**
+ * A pairing to resolve in a batch simulation:
+ * two players, or a player against the bot of the game.
+ */
+public class Match {
+    private final RegisteredPlayer player1;
+    private final RegisteredPlayer player2;
+
+    /**
+     * Match between two players.
+     * @param player1
+     * @param player2
+     */
+    public Match(RegisteredPlayer player1, RegisteredPlayer player2) {
+        if (player1 == null || player2 == null) {
+            throw new IllegalArgumentException("parameters can't be null");
+        }
+        this.player1 = player1;
+        this.player2 = player2;
+    }
+
+    /**
+     * Match between a player and the bot of the game.
+     * @param player
+     */
+    public Match(RegisteredPlayer player) {
+        if (player == null) throw new IllegalArgumentException("The parameter can't be null");
+        this.player1 = player;
+        this.player2 = null;
+    }
+
+    public RegisteredPlayer getPlayer1() {
+        return player1;
+    }
+
+    /**
+     * @return the second player, or null for a match against the bot.
+     */
+    public RegisteredPlayer getPlayer2() {
+        return player2;
+    }
+
+    public boolean isAgainstBot() {
+        return player2 == null;
+    }
+}
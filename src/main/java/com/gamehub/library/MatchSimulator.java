@@ -0,0 +1,130 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resolves batches of matches of a game in parallel.
+ * 
+ * Outcomes are drawn on a fork-join pool, each task using its own
+ * `SplittableRandom` split from its parent. The results are then recorded
+ * on the game in a single call.
+ */
+class MatchSimulator {
+    /**
+     * Below this number of matches, a task draws the outcomes itself.
+     */
+    private static final int MIN_BATCH_SIZE = 4096;
+
+    /**
+     * Draws the outcome of the matches in [start, end[.
+     */
+    private static class ResolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Game game;
+        private final List<Match> matches;
+        private final boolean[] player1Won;
+        private final int start;
+        private final int end;
+        private final SplittableRandom random;
+
+        ResolveTask(Game game, List<Match> matches, boolean[] player1Won, int start, int end, SplittableRandom random) {
+            this.game = game;
+            this.matches = matches;
+            this.player1Won = player1Won;
+            this.start = start;
+            this.end = end;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > MIN_BATCH_SIZE) {
+                int middle = start + (end - start) / 2;
+                invokeAll(
+                    new ResolveTask(game, matches, player1Won, start, middle, random.split()),
+                    new ResolveTask(game, matches, player1Won, middle, end, random)
+                );
+                return;
+            }
+
+            for (int i = start; i < end; i++) {
+                Match match = matches.get(i);
+                if (match.isAgainstBot()) {
+                    player1Won[i] = !game.getBot().playGameOption(game, random);
+                } else {
+                    player1Won[i] = random.nextDouble() < 0.5;
+                }
+            }
+        }
+    }
+
+    private MatchSimulator() {}
+
+    /**
+     * Resolves the matches and records the results between players.
+     * @param game
+     * @param matches
+     * @param random root generator of the batch
+     * @param pool
+     * @return
+     */
+    static MatchSummary simulate(Game game, List<Match> matches, SplittableRandom random, ForkJoinPool pool) {
+        long start = System.nanoTime();
+
+        int botMatches = 0;
+        for (Match match : matches) {
+            if (match.isAgainstBot()) botMatches++;
+        }
+        if (botMatches > 0 && game.getBot() == null) {
+            throw new IllegalStateException("The game " + game.getName() + " has no bot.");
+        }
+
+        boolean[] player1Won = new boolean[matches.size()];
+        pool.invoke(new ResolveTask(game, matches, player1Won, 0, matches.size(), random));
+
+        ArrayList<GameResult> results = new ArrayList<>(matches.size() - botMatches);
+        int botWins = 0;
+        for (int i = 0; i < player1Won.length; i++) {
+            Match match = matches.get(i);
+            if (match.isAgainstBot()) {
+                if (!player1Won[i]) botWins++;
+            } else if (player1Won[i]) {
+                results.add(new GameResult(game, match.getPlayer1(), match.getPlayer2(), false));
+            } else {
+                results.add(new GameResult(game, match.getPlayer2(), match.getPlayer1(), false));
+            }
+        }
+        game.addGameResults(results);
+
+        return new MatchSummary(game, matches.size(), botMatches, botWins, System.nanoTime() - start);
+    }
+}
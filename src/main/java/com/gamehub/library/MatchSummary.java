@@ -0,0 +1,84 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+/**
+ * Outcome of a batch of matches.
+ */
+public class MatchSummary {
+    private final Game game;
+    private final int matches;
+    private final int botMatches;
+    private final int botWins;
+    private final long durationNanos;
+
+    MatchSummary(Game game, int matches, int botMatches, int botWins, long durationNanos) {
+        this.game = game;
+        this.matches = matches;
+        this.botMatches = botMatches;
+        this.botWins = botWins;
+        this.durationNanos = durationNanos;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Matches between two players, recorded as game results.
+     * @return
+     */
+    public int getPlayerMatches() {
+        return matches - botMatches;
+    }
+
+    public int getBotMatches() {
+        return botMatches;
+    }
+
+    public int getBotWins() {
+        return botWins;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("game: " + game.getName() + "\n");
+        sb.append("matches: " + matches + "\n");
+        sb.append("results recorded: " + getPlayerMatches() + "\n");
+        if (botMatches > 0) {
+            double ratio = (double) botWins / (double) botMatches;
+            sb.append("bot matches: " + botMatches + " (bot win ratio = " + (ratio*100) + "%)\n");
+        }
+        sb.append("duration: " + (durationNanos / 1_000_000) + " ms\n");
+
+        return sb.toString();
+    }
+}
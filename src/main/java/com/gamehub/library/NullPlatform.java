@@ -31,7 +31,7 @@ package com.gamehub.library;
 public class NullPlatform extends Platform {
 
     public NullPlatform() {
-        super("N/A");
+        super(NO_ID, "N/A");
     }
     
 }
@@ -24,7 +24,8 @@ SOFTWARE.
 
 package com.gamehub.library;
 
-import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.gamehub.user.RegisteredPlayer;
 
@@ -32,22 +33,30 @@ import com.gamehub.user.RegisteredPlayer;
  * Represents a device that can host games
  */
 public class Platform {
+    /**
+     * Id of the platforms outside of a collection.
+     */
+    public static final int NO_ID = -1;
+
+    /**
+     * Index of the platform in its collection (0, 1, 2...).
+     */
+    private final int id;
     private final String name;
-    private ArrayList<GameVersion> gameVersions;
-    private ArrayList<RegisteredPlayer> players;
+    private final Set<RegisteredPlayer> players;
     
-    public Platform(String name) {
+    public Platform(int id, String name) {
+        this.id = id;
         this.name = name;
-        gameVersions = new ArrayList<>();
-        players = new ArrayList<>();
+        players = ConcurrentHashMap.newKeySet();
     }
     
-    public String getName() {
-        return name;
+    public int getId() {
+        return id;
     }
 
-    public void addGameVersion(GameVersion gameVersion) {
-        gameVersions.add(gameVersion);
+    public String getName() {
+        return name;
     }
 
     public void addPlayer(RegisteredPlayer p) {
@@ -0,0 +1,167 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntToDoubleFunction;
+
+import com.gamehub.user.RegisteredPlayer;
+import com.gamehub.utils.IntIndexMap;
+
+/**
+ * Incremental rating of the players of a game.
+ * 
+ * Each result updates the winner and the loser in O(1). Ratings are
+ * stored in primitive arrays indexed by a slot, assigned to each player id
+ * by an `IntIndexMap`.
+ * 
+ * Updates are exclusive, and reads are optimistic: they do not block
+ * updates and are only retried under a read lock if an update happened meanwhile.
+ */
+public abstract class RatingEngine {
+    /**
+     * Rating of a player that has not played yet.
+     */
+    public static final double INITIAL_RATING = 1500;
+
+    private final IntIndexMap slots = new IntIndexMap();
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Updates the ratings of the players of a result.
+     * @param result
+     */
+    public void record(GameResult result) {
+        long stamp = lock.writeLock();
+        try {
+            int winner = slotOf(result.getWinner());
+            int loser = slotOf(result.getLoser());
+            update(winner, loser);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Forgets every rating and replays a result log,
+     * in a single pass over the results.
+     * @param log results in the order they were played
+     */
+    public void rebuild(Iterable<GameResult> log) {
+        long stamp = lock.writeLock();
+        try {
+            slots.clear();
+            reset();
+            for (GameResult result : log) {
+                update(slotOf(result.getWinner()), slotOf(result.getLoser()));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Current rating of a player.
+     * @param p
+     * @return the rating, `INITIAL_RATING` if the player has not played yet.
+     */
+    public double getRating(RegisteredPlayer p) {
+        return read(p, INITIAL_RATING, this::rating);
+    }
+
+    /**
+     * Reads a value of a player without blocking updates.
+     * @param p
+     * @param absent value if the player has not played yet
+     * @param value reads the value of a slot
+     * @return
+     */
+    protected double read(RegisteredPlayer p, double absent, IntToDoubleFunction value) {
+        long stamp = lock.tryOptimisticRead();
+        double result;
+        try {
+            int slot = slots.get(p.getId());
+            result = (slot < 0)? absent : value.applyAsDouble(slot);
+        } catch (RuntimeException e) {
+            // arrays replaced during the read, validation fails below
+            result = absent;
+        }
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                int slot = slots.get(p.getId());
+                result = (slot < 0)? absent : value.applyAsDouble(slot);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Slot of a player, initialized when the player is seen for the first time.
+     */
+    private int slotOf(RegisteredPlayer p) {
+        int size = slots.size();
+        int slot = slots.getOrAdd(p.getId());
+        if (slots.size() > size) {
+            ensureCapacity(slots.size());
+            initialize(slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Grows the rating arrays to hold at least `capacity` slots,
+     * geometrically (see `grownLength`). Nothing is copied if they already can.
+     */
+    protected abstract void ensureCapacity(int capacity);
+
+    /**
+     * Sets the initial rating of a new slot.
+     */
+    protected abstract void initialize(int slot);
+
+    /**
+     * Forgets all ratings.
+     */
+    protected abstract void reset();
+
+    /**
+     * Updates the ratings of two players after a match.
+     */
+    protected abstract void update(int winnerSlot, int loserSlot);
+
+    protected abstract double rating(int slot);
+
+    /**
+     * New capacity for an array that must hold `capacity` slots:
+     * at least twice the current length, so that adding n slots copies O(n) values.
+     */
+    protected static int grownLength(int length, int capacity) {
+        return (length >= capacity)? length : Math.max(capacity, Math.max(16, length * 2));
+    }
+}
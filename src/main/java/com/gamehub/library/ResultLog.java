@@ -0,0 +1,125 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Append-only log of the results of a game, stored in fixed size segments.
+ * 
+ * A single writer at a time appends results (the game serializes them).
+ * Readers never lock: they read the published size, then only access the
+ * results below it, which are never modified afterwards. A snapshot is
+ * therefore a consistent prefix of the log, even while results are added.
+ */
+class ResultLog {
+    private static final int SEGMENT_SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Directory of the segments, replaced (never modified in place
+     * for the published part) when it is full.
+     */
+    private volatile GameResult[][] segments;
+    /**
+     * Number of published results. Written after the results themselves.
+     */
+    private volatile int size;
+
+    ResultLog() {
+        segments = new GameResult[4][];
+        size = 0;
+    }
+
+    /**
+     * Appends a result. Must only be called by one writer at a time.
+     * @param result
+     */
+    void add(GameResult result) {
+        int index = size;
+        store(index, result);
+        size = index + 1;
+    }
+
+    /**
+     * Appends results, published at once.
+     * Must only be called by one writer at a time.
+     * @param results
+     */
+    void addAll(List<GameResult> results) {
+        int index = size;
+        for (GameResult result : results) {
+            store(index++, result);
+        }
+        size = index;
+    }
+
+    private void store(int index, GameResult result) {
+        int segment = index >>> SEGMENT_SHIFT;
+        GameResult[][] directory = segments;
+        if (segment >= directory.length) {
+            directory = Arrays.copyOf(directory, directory.length * 2);
+        }
+        if (directory[segment] == null) {
+            directory[segment] = new GameResult[SEGMENT_SIZE];
+        }
+        if (directory != segments) {
+            segments = directory;
+        }
+        directory[segment][index & SEGMENT_MASK] = result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of the results published so far.
+     * Later results are not visible through the view.
+     * @return
+     */
+    List<GameResult> snapshot() {
+        final int length = size; // read first: the directory below contains every published result
+        final GameResult[][] directory = segments;
+
+        class Snapshot extends AbstractList<GameResult> implements RandomAccess {
+            @Override
+            public GameResult get(int index) {
+                if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+                return directory[index >>> SEGMENT_SHIFT][index & SEGMENT_MASK];
+            }
+
+            @Override
+            public int size() {
+                return length;
+            }
+        }
+        return new Snapshot();
+    }
+}
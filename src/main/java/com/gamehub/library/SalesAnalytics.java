@@ -0,0 +1,297 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Sales aggregates over the versions of a collection: top publishers,
+ * sales per platform per year, and share of each genre per year.
+ * 
+ * Aggregates are fork-join reductions over the primitive columns of the
+ * version store: each task sums its rows in its own array of totals, and
+ * the arrays of the two halves are added. Results are immutable and cached
+ * by query. The analytics of a collection are dropped when versions are
+ * added to it, so a reloaded catalog is never answered from the cache.
+ * 
+ * Versions of unknown year are left out of the per year aggregates.
+ */
+public class SalesAnalytics {
+    /**
+     * Below this number of rows, a range is summed directly instead of being split.
+     */
+    private static final int MIN_TASK_ROWS = 4 * 1024;
+
+    private final VersionStore versions;
+    private final List<Platform> platforms;
+    private final ForkJoinPool pool;
+
+    /**
+     * Genre id of each game by id, and the genres by id.
+     */
+    private final int[] gameGenres;
+    private final List<String> genres;
+    /**
+     * Known years of the versions (unknown years are 0).
+     */
+    private final int minYear;
+    private final int yearsCount;
+
+    private final ConcurrentHashMap<String, Object> cache;
+
+    /**
+     * Sales of a publisher.
+     */
+    public static class PublisherSales {
+        private final String publisher;
+        private final double sales;
+
+        PublisherSales(String publisher, double sales) {
+            this.publisher = publisher;
+            this.sales = sales;
+        }
+
+        public String getPublisher() {
+            return publisher;
+        }
+
+        /**
+         * @return millions of copies
+         */
+        public double getSales() {
+            return sales;
+        }
+    }
+
+    /**
+     * @param versions versions of the collection, no longer modified
+     * @param genres genre of each game of the collection by id
+     * @param platforms platforms of the collection by id
+     * @param pool pool computing the aggregates
+     */
+    SalesAnalytics(VersionStore versions, List<String> genres, List<Platform> platforms, ForkJoinPool pool) {
+        this.versions = versions;
+        this.platforms = platforms;
+        this.pool = pool;
+        this.cache = new ConcurrentHashMap<>();
+
+        // genres are interned to be used as array indexes
+        HashMap<String, Integer> genreIds = new HashMap<>();
+        ArrayList<String> genreNames = new ArrayList<>();
+        gameGenres = new int[genres.size()];
+        for (int game = 0; game < genres.size(); game++) {
+            Integer id = genreIds.get(genres.get(game));
+            if (id == null) {
+                id = genreNames.size();
+                genreIds.put(genres.get(game), id);
+                genreNames.add(genres.get(game));
+            }
+            gameGenres[game] = id;
+        }
+        this.genres = Collections.unmodifiableList(genreNames);
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int row = 0; row < versions.size(); row++) {
+            int year = versions.getYear(row);
+            if (year == 0) continue;
+            min = Math.min(min, year);
+            max = Math.max(max, year);
+        }
+        minYear = (max < min) ? 0 : min;
+        yearsCount = (max < min) ? 0 : max - min + 1;
+    }
+
+    /**
+     * Sums the sales of the rows in [start, end[ in one total per cell,
+     * splitting the range in two halves while it is big enough.
+     */
+    private class SumTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntUnaryOperator cellOfRow;
+        private final int cells;
+        private final SalesRegion region;
+        private final int start;
+        private final int end;
+
+        /**
+         * @param cellOfRow cell of a row, or -1 to skip the row
+         * @param cells number of cells
+         */
+        SumTask(IntUnaryOperator cellOfRow, int cells, SalesRegion region, int start, int end) {
+            this.cellOfRow = cellOfRow;
+            this.cells = cells;
+            this.region = region;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (end - start > MIN_TASK_ROWS) {
+                int middle = start + (end - start) / 2;
+                SumTask second = new SumTask(cellOfRow, cells, region, middle, end);
+                second.fork();
+                double[] totals = new SumTask(cellOfRow, cells, region, start, middle).compute();
+                double[] secondTotals = second.join();
+                for (int i = 0; i < cells; i++) {
+                    totals[i] += secondTotals[i];
+                }
+                return totals;
+            }
+
+            double[] totals = new double[cells];
+            for (int row = start; row < end; row++) {
+                int cell = cellOfRow.applyAsInt(row);
+                if (cell >= 0) totals[cell] += versions.getSales(row, region);
+            }
+            return totals;
+        }
+    }
+
+    private double[] sum(IntUnaryOperator cellOfRow, int cells, SalesRegion region) {
+        return pool.invoke(new SumTask(cellOfRow, cells, region, 0, versions.size()));
+    }
+
+    /**
+     * Year column of a row (0 to yearsCount), or -1 if the year is unknown.
+     */
+    private int yearIndex(int row) {
+        int year = versions.getYear(row);
+        return (year == 0) ? -1 : year - minYear;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R cached(String query, Supplier<R> compute) {
+        return (R) cache.computeIfAbsent(query, q -> compute.get());
+    }
+
+    /**
+     * Publishers that sold the most copies, best first.
+     * @param n maximum number of publishers
+     * @param region
+     * @return
+     */
+    public List<PublisherSales> topPublishers(int n, SalesRegion region) {
+        List<PublisherSales> publishers = publishersBySales(region);
+        return publishers.subList(0, Math.min(Math.max(n, 0), publishers.size()));
+    }
+
+    /**
+     * Every publisher, best first (cached once per region, whatever the length asked).
+     * @param region
+     * @return
+     */
+    private List<PublisherSales> publishersBySales(SalesRegion region) {
+        return cached("publishers:" + region, () -> {
+            double[] totals = sum(versions::getPublisherId, versions.getPublishersCount(), region);
+
+            ArrayList<PublisherSales> publishers = new ArrayList<>(totals.length);
+            for (int id = 0; id < totals.length; id++) {
+                publishers.add(new PublisherSales(versions.getPublisherName(id), totals[id]));
+            }
+            publishers.sort((p1, p2) -> Double.compare(p2.getSales(), p1.getSales()));
+            return List.copyOf(publishers);
+        });
+    }
+
+    /**
+     * Sales of each platform by year. Years and platforms without sales are absent.
+     * @param region
+     * @return platform name -> (year -> millions of copies), platforms in the order of the file.
+     */
+    public Map<String, SortedMap<Integer, Double>> salesByPlatformAndYear(SalesRegion region) {
+        return cached("platforms:" + region, () -> {
+            double[] totals = sum(row -> {
+                int year = yearIndex(row);
+                return (year < 0) ? -1 : versions.getPlatformId(row) * yearsCount + year;
+            }, platforms.size() * yearsCount, region);
+
+            LinkedHashMap<String, SortedMap<Integer, Double>> result = new LinkedHashMap<>();
+            for (Platform platform : platforms) {
+                TreeMap<Integer, Double> byYear = new TreeMap<>();
+                for (int year = 0; year < yearsCount; year++) {
+                    double sales = totals[platform.getId() * yearsCount + year];
+                    if (sales > 0) byYear.put(minYear + year, sales);
+                }
+                // platforms no longer listed have no sales
+                if (byYear.isEmpty()) continue;
+                result.put(platform.getName(), Collections.unmodifiableSortedMap(byYear));
+            }
+            return Collections.unmodifiableMap(result);
+        });
+    }
+
+    /**
+     * Share of the sales of each genre, by year.
+     * @param region
+     * @return year -> (genre -> share between 0 and 1), genres by decreasing share.
+     */
+    public SortedMap<Integer, Map<String, Double>> genreShareByYear(SalesRegion region) {
+        return cached("genres:" + region, () -> {
+            int genresCount = genres.size();
+            double[] totals = sum(row -> {
+                int year = yearIndex(row);
+                return (year < 0) ? -1 : year * genresCount + gameGenres[versions.getGameId(row)];
+            }, yearsCount * genresCount, region);
+
+            TreeMap<Integer, Map<String, Double>> result = new TreeMap<>();
+            for (int year = 0; year < yearsCount; year++) {
+                double yearSales = 0;
+                for (int genre = 0; genre < genresCount; genre++) {
+                    yearSales += totals[year * genresCount + genre];
+                }
+                if (yearSales <= 0) continue;
+
+                ArrayList<Map.Entry<String, Double>> shares = new ArrayList<>();
+                for (int genre = 0; genre < genresCount; genre++) {
+                    double sales = totals[year * genresCount + genre];
+                    if (sales > 0) shares.add(Map.entry(genres.get(genre), sales / yearSales));
+                }
+                shares.sort((s1, s2) -> Double.compare(s2.getValue(), s1.getValue()));
+
+                LinkedHashMap<String, Double> yearShares = new LinkedHashMap<>();
+                for (Map.Entry<String, Double> share : shares) {
+                    yearShares.put(share.getKey(), share.getValue());
+                }
+                result.put(minYear + year, Collections.unmodifiableMap(yearShares));
+            }
+            return Collections.unmodifiableSortedMap(result);
+        });
+    }
+}
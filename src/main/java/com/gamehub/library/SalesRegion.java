@@ -0,0 +1,56 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+/**
+ * Sales columns of the catalog, in millions of copies.
+ */
+public enum SalesRegion {
+    NORTH_AMERICA("North America"),
+    EUROPE("Europe"),
+    JAPAN("Japan"),
+    /**
+     * Rest of the world
+     */
+    OTHER("other regions"),
+    /**
+     * Every region
+     */
+    GLOBAL("world");
+
+    private final String label;
+
+    SalesRegion(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Display name of the region
+     * @return
+     */
+    public String getLabel() {
+        return label;
+    }
+}
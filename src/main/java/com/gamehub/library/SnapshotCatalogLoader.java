@@ -0,0 +1,337 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.library;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Loads the collection from a compact binary snapshot of the CSV,
+ * stored next to it, and falls back to another loader when the snapshot
+ * is missing or was made from a different CSV file or with a different filter.
+ * The snapshot is (re)written after each fallback loading.
+ * 
+ * Format (big endian):
+ * - header: magic, format version, size and CRC32C checksum of the source CSV,
+ *   filter of the lines (see `CatalogFilter.write`) and number of lines of the CSV
+ * - string table: every name, platform, genre and publisher, stored once
+ * - one record per GameVersion, in the order of the file:
+ *   name, platform, genre and publisher indexes in the string table,
+ *   year, and NA, EU, JP, Other and global sales.
+ */
+public class SnapshotCatalogLoader implements CatalogLoader {
+    /**
+     * "GHCS" (Game Hub Catalog Snapshot)
+     */
+    private static final int MAGIC = 0x47484353;
+    private static final int FORMAT_VERSION = 4;
+    /**
+     * Smallest size of a string of the table (its length)
+     * and size of a record, in bytes.
+     */
+    private static final int MIN_STRING_BYTES = 2;
+    private static final int RECORD_BYTES = 4 * 5 + 4 * 5;
+
+    /**
+     * Extension added to the CSV path when no snapshot path is given.
+     */
+    public static final String EXTENSION = ".snapshot";
+
+    private final CatalogLoader fallback;
+    private final String snapshotPath;
+
+    /**
+     * A record read from the snapshot, before it is added to the collection.
+     */
+    private static class Record {
+        int name;
+        int platform;
+        int genre;
+        int publisher;
+        int year;
+        float naSales;
+        float euSales;
+        float jpSales;
+        float otherSales;
+        float globalSales;
+    }
+
+    /**
+     * Uses `<CSV path>.snapshot` as the snapshot file.
+     * @param fallback loader used when the snapshot can't be used.
+     */
+    public SnapshotCatalogLoader(CatalogLoader fallback) {
+        this(fallback, null);
+    }
+
+    /**
+     * @param fallback loader used when the snapshot can't be used.
+     * @param snapshotPath path of the snapshot file.
+     */
+    public SnapshotCatalogLoader(CatalogLoader fallback, String snapshotPath) {
+        if (fallback == null) throw new IllegalArgumentException("A fallback loader must be specified");
+        this.fallback = fallback;
+        this.snapshotPath = snapshotPath;
+    }
+
+    @Override
+    public void load(String dataPath, CatalogFilter filter, GameCollection collection) throws IOException {
+        CatalogLoadReport report = collection.getLoadReport();
+        long start = System.nanoTime();
+        Path source = Path.of(dataPath);
+        Path snapshot = Path.of((snapshotPath == null)? dataPath + EXTENSION : snapshotPath);
+        long size = Files.size(source);
+        long checksum = checksum(dataPath);
+        report.phaseCompleted("checksum", start);
+
+        start = System.nanoTime();
+        boolean loaded = read(snapshot, size, checksum, filter, collection);
+        report.phaseCompleted("snapshot read", start);
+        if (loaded) return;
+
+        fallback.load(dataPath, filter, collection);
+
+        start = System.nanoTime();
+        try {
+            write(source, snapshot, size, checksum, filter, collection);
+        } catch (IOException e) {
+            // the collection is loaded, only the next startups are slower
+            System.err.println("The catalog snapshot could not be written: " + e.getMessage());
+        }
+        report.phaseCompleted("snapshot write", start);
+    }
+
+    /**
+     * Computes the CRC32C checksum of a file.
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    static long checksum(String path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(Integer.MAX_VALUE, size - position);
+                MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, position, length);
+                crc.update(buffer);
+                position += length;
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Fills the collection from the snapshot if it matches the CSV and the filter.
+     * The collection is left untouched if the snapshot can't be used.
+     * @return if the collection was loaded.
+     * @throws IOException
+     */
+    private boolean read(Path snapshot, long size, long checksum, CatalogFilter filter, GameCollection collection) throws IOException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(snapshot);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+
+        int scanned;
+        String[] strings;
+        Record[] records;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return false;
+            if (in.readLong() != size || in.readLong() != checksum) return false;
+            if (!filter.equals(CatalogFilter.read(in))) return false;
+            scanned = in.readInt();
+
+            strings = new String[readCount(in, MIN_STRING_BYTES)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+
+            records = new Record[readCount(in, RECORD_BYTES)];
+            for (int i = 0; i < records.length; i++) {
+                Record r = new Record();
+                r.name = in.readInt();
+                r.platform = in.readInt();
+                r.genre = in.readInt();
+                r.publisher = in.readInt();
+                r.year = in.readInt();
+                r.naSales = in.readFloat();
+                r.euSales = in.readFloat();
+                r.jpSales = in.readFloat();
+                r.otherSales = in.readFloat();
+                r.globalSales = in.readFloat();
+                records[i] = r;
+            }
+        } catch (IOException e) {
+            // truncated or corrupted
+            return false;
+        }
+
+        for (Record r : records) {
+            if (!inTable(strings, r.name) || !inTable(strings, r.platform)
+                    || !inTable(strings, r.genre) || !inTable(strings, r.publisher)) {
+                return false;
+            }
+        }
+
+        // the records were kept by the same filter from the lines of the CSV
+        collection.getLoadReport().rowsScanned(scanned);
+        for (Record r : records) {
+            collection.addRecord(
+                strings[r.name],
+                strings[r.platform],
+                r.year,
+                strings[r.genre],
+                strings[r.publisher],
+                r.naSales,
+                r.euSales,
+                r.jpSales,
+                r.otherSales,
+                r.globalSales
+            );
+        }
+        return true;
+    }
+
+    /**
+     * Reads the number of elements of a table, checking that they
+     * can fit in the rest of the snapshot before they are allocated.
+     * @param in stream over the snapshot bytes
+     * @param elementBytes smallest size of an element
+     * @return
+     * @throws IOException if the count is corrupted
+     */
+    private static int readCount(DataInputStream in, int elementBytes) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || (long) count * elementBytes > in.available()) {
+            throw new IOException("Invalid count in the snapshot: " + count);
+        }
+        return count;
+    }
+
+    private static boolean inTable(String[] strings, int index) {
+        return index >= 0 && index < strings.length;
+    }
+
+    /**
+     * Writes the snapshot of the collection. The file is written next to
+     * the destination then moved, so a snapshot is never read half written.
+     * @param source CSV file, whose permissions are given to the snapshot
+     * @throws IOException
+     */
+    private void write(Path source, Path snapshot, long size, long checksum, CatalogFilter filter, GameCollection collection) throws IOException {
+        VersionStore versions = collection.getVersionStore();
+
+        // string table
+        HashMap<String, Integer> indexes = new HashMap<>();
+        ArrayList<String> strings = new ArrayList<>();
+        int[] fields = new int[versions.size() * 4];
+        for (int i = 0; i < versions.size(); i++) {
+            Game game = versions.getGame(i);
+            fields[i * 4] = intern(game.getName(), indexes, strings);
+            fields[i * 4 + 1] = intern(versions.getPlatform(i).getName(), indexes, strings);
+            fields[i * 4 + 2] = intern(collection.getGenre(game), indexes, strings);
+            fields[i * 4 + 3] = intern(versions.getPublisher(i), indexes, strings);
+        }
+
+        Path directory = snapshot.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(tmp);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(size);
+                out.writeLong(checksum);
+                filter.write(out);
+                out.writeInt(collection.getLoadReport().getRowsScanned());
+
+                out.writeInt(strings.size());
+                for (String s : strings) {
+                    out.writeUTF(s);
+                }
+
+                out.writeInt(versions.size());
+                for (int i = 0; i < versions.size(); i++) {
+                    out.writeInt(fields[i * 4]);
+                    out.writeInt(fields[i * 4 + 1]);
+                    out.writeInt(fields[i * 4 + 2]);
+                    out.writeInt(fields[i * 4 + 3]);
+                    out.writeInt(versions.getYear(i));
+                    out.writeFloat(versions.getSales(i, SalesRegion.NORTH_AMERICA));
+                    out.writeFloat(versions.getSales(i, SalesRegion.EUROPE));
+                    out.writeFloat(versions.getSales(i, SalesRegion.JAPAN));
+                    out.writeFloat(versions.getSales(i, SalesRegion.OTHER));
+                    out.writeFloat(versions.getGlobalSales(i));
+                }
+            }
+            copyPermissions(source, tmp);
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Gives a file the permissions of another one, on file systems supporting them.
+     * Temporary files are only accessible by their owner, and the move keeps it.
+     */
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        if (!Files.getFileStore(target).supportsFileAttributeView(PosixFileAttributeView.class)) return;
+        Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+    }
+
+    /**
+     * Returns the index of the string in the table, adding it if needed.
+     */
+    private static int intern(String s, HashMap<String, Integer> indexes, ArrayList<String> strings) {
+        Integer index = indexes.get(s);
+        if (index == null) {
+            index = strings.size();
+            indexes.put(s, index);
+            strings.add(s);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Columnar storage of the game versions of a collection: one row per
+ * version, in the order of the file, stored in parallel primitive arrays
+ * (game id, platform id, year, publisher id, sales of each region).
+ * 
+ * Publishers are interned in a table. Rows are added while the collection
+ * is loaded, then only read. `GameVersion` is a view over a row.
+ */
+public class VersionStore {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<Game> games;
+    private final List<Platform> platforms;
+
+    private int size;
+    private int[] gameIds;
+    private int[] platformIds;
+    private int[] years;
+    private int[] publisherIds;
+    private float[] naSales;
+    private float[] euSales;
+    private float[] jpSales;
+    private float[] otherSales;
+    private float[] globalSales;
+
+    private final ArrayList<String> publishers;
+    private final HashMap<String, Integer> publisherIndexes;
+
+    /**
+     * @param games games of the collection by id
+     * @param platforms platforms of the collection by id
+     */
+    VersionStore(List<Game> games, List<Platform> platforms) {
+        this.games = games;
+        this.platforms = platforms;
+        this.size = 0;
+        this.gameIds = new int[INITIAL_CAPACITY];
+        this.platformIds = new int[INITIAL_CAPACITY];
+        this.years = new int[INITIAL_CAPACITY];
+        this.publisherIds = new int[INITIAL_CAPACITY];
+        this.naSales = new float[INITIAL_CAPACITY];
+        this.euSales = new float[INITIAL_CAPACITY];
+        this.jpSales = new float[INITIAL_CAPACITY];
+        this.otherSales = new float[INITIAL_CAPACITY];
+        this.globalSales = new float[INITIAL_CAPACITY];
+        this.publishers = new ArrayList<>();
+        this.publisherIndexes = new HashMap<>();
+    }
+
+    /**
+     * Adds a version.
+     * @return the row of the version
+     */
+    int add(Game game, Platform platform, int year, String publisher,
+            float na, float eu, float jp, float other, float global) {
+        if (size == gameIds.length) grow();
+
+        int row = size;
+        gameIds[row] = game.getId();
+        platformIds[row] = platform.getId();
+        years[row] = year;
+        publisherIds[row] = internPublisher(publisher);
+        naSales[row] = na;
+        euSales[row] = eu;
+        jpSales[row] = jp;
+        otherSales[row] = other;
+        globalSales[row] = global;
+        size = row + 1;
+        return row;
+    }
+
+    private void grow() {
+        int capacity = gameIds.length * 2;
+        gameIds = Arrays.copyOf(gameIds, capacity);
+        platformIds = Arrays.copyOf(platformIds, capacity);
+        years = Arrays.copyOf(years, capacity);
+        publisherIds = Arrays.copyOf(publisherIds, capacity);
+        naSales = Arrays.copyOf(naSales, capacity);
+        euSales = Arrays.copyOf(euSales, capacity);
+        jpSales = Arrays.copyOf(jpSales, capacity);
+        otherSales = Arrays.copyOf(otherSales, capacity);
+        globalSales = Arrays.copyOf(globalSales, capacity);
+    }
+
+    private int internPublisher(String publisher) {
+        Integer id = publisherIndexes.get(publisher);
+        if (id == null) {
+            id = publishers.size();
+            publisherIndexes.put(publisher, id);
+            publishers.add(publisher);
+        }
+        return id;
+    }
+
+    /**
+     * Number of versions.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getGameId(int row) {
+        return gameIds[checkRow(row)];
+    }
+
+    public int getPlatformId(int row) {
+        return platformIds[checkRow(row)];
+    }
+
+    public int getYear(int row) {
+        return years[checkRow(row)];
+    }
+
+    public int getPublisherId(int row) {
+        return publisherIds[checkRow(row)];
+    }
+
+    public float getGlobalSales(int row) {
+        return globalSales[checkRow(row)];
+    }
+
+    /**
+     * Sales of a version in a region.
+     * @param row
+     * @param region
+     * @return millions of copies
+     */
+    public float getSales(int row, SalesRegion region) {
+        checkRow(row);
+        switch (region) {
+            case NORTH_AMERICA: return naSales[row];
+            case EUROPE: return euSales[row];
+            case JAPAN: return jpSales[row];
+            case OTHER: return otherSales[row];
+            default: return globalSales[row];
+        }
+    }
+
+    public Game getGame(int row) {
+        return games.get(getGameId(row));
+    }
+
+    public Platform getPlatform(int row) {
+        return platforms.get(getPlatformId(row));
+    }
+
+    public String getPublisher(int row) {
+        return publishers.get(getPublisherId(row));
+    }
+
+    /**
+     * Name of an interned publisher.
+     * @param publisherId
+     * @return
+     */
+    public String getPublisherName(int publisherId) {
+        return publishers.get(publisherId);
+    }
+
+    public int getPublishersCount() {
+        return publishers.size();
+    }
+
+    /**
+     * View of a row.
+     * @param row
+     * @return
+     */
+    public GameVersion get(int row) {
+        return new GameVersion(this, checkRow(row));
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+        return row;
+    }
+}
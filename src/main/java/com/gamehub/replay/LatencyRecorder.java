@@ -0,0 +1,105 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.replay;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Durations recorded per action. Not thread-safe: each worker
+ * records in its own recorder, merged at the end.
+ */
+public class LatencyRecorder {
+    private final Map<String, Samples> samples;
+
+    public LatencyRecorder() {
+        this.samples = new TreeMap<>();
+    }
+
+    /**
+     * Growable array of durations.
+     */
+    private static class Samples {
+        private long[] values = new long[64];
+        private int size = 0;
+
+        private void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    public void record(String action, long nanos) {
+        samples.computeIfAbsent(action, (a) -> new Samples()).add(nanos);
+    }
+
+    /**
+     * Adds the samples of another recorder to this one.
+     * @param other
+     */
+    public void merge(LatencyRecorder other) {
+        for (Map.Entry<String, Samples> entry : other.samples.entrySet()) {
+            Samples from = entry.getValue();
+            for (int i = 0; i < from.size; i++) {
+                record(entry.getKey(), from.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Table of the count, throughput and latency percentiles of each action.
+     * @param seconds duration of the run
+     * @return
+     */
+    public String report(double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %10s %12s %10s %10s %10s %10s%n",
+            "action", "count", "ops/s", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)"));
+
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            Samples s = entry.getValue();
+            long[] sorted = Arrays.copyOf(s.values, s.size);
+            Arrays.sort(sorted);
+            sb.append(String.format("%-20s %10d %12.0f %10.1f %10.1f %10.1f %10.1f%n",
+                entry.getKey(), s.size, s.size / seconds,
+                percentile(sorted, 50) / 1e3, percentile(sorted, 90) / 1e3,
+                percentile(sorted, 99) / 1e3, sorted[sorted.length - 1] / 1e3));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Nearest rank percentile.
+     * @param sorted values in ascending order (at least one)
+     * @param p percentile between 0 and 100
+     * @return
+     */
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,270 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.gamehub.GameHub;
+import com.gamehub.Session;
+import com.gamehub.library.Game;
+import com.gamehub.library.GameCollection;
+import com.gamehub.user.bot.BasicGameAI;
+import com.gamehub.user.bot.Bot;
+import com.gamehub.user.bot.GameAI;
+import com.gamehub.utils.MemoryIO;
+
+/**
+ * Replays input scripts in concurrent in-memory sessions and reports
+ * the throughput and latency of each `GameHub` action.
+ * 
+ * A replay fails if its session does not consume the whole script and quit,
+ * or as soon as an answer does not select the option named by the script.
+ *
+ * Usage: ReplayHarness <csv> [--script <path>]... [--threads <n>] [--replays <n>] [--warmup <n>]
+ */
+public class ReplayHarness {
+    private static final String DEFAULT_SCRIPT = "docs/replay/obtain_play.txt";
+
+    private final List<ReplayScript> scripts;
+    private final int threads;
+    private final AtomicInteger nextNumber;
+
+    /**
+     * @param scripts scripts replayed in turn
+     * @param threads number of concurrent sessions
+     */
+    public ReplayHarness(List<ReplayScript> scripts, int threads) {
+        if (scripts.isEmpty()) throw new IllegalArgumentException("At least one script must be provided");
+        if (threads < 1) throw new IllegalArgumentException("At least one thread is required");
+        this.scripts = scripts;
+        this.threads = threads;
+        this.nextNumber = new AtomicInteger(0);
+    }
+
+    /**
+     * Input of a replay, checking that each answer selects the option
+     * named by the script before the next one is read.
+     */
+    private static class ScriptIO extends MemoryIO {
+        private final ReplayScript script;
+        /**
+         * Index of the last answer read, and length of the output at that time.
+         */
+        private int answer;
+        private int outputStart;
+        private boolean mismatch;
+
+        ScriptIO(ReplayScript script, List<String> lines) {
+            super(lines);
+            this.script = script;
+            this.answer = -1;
+            this.outputStart = 0;
+            this.mismatch = false;
+        }
+
+        @Override
+        public String readLine() {
+            checkSelection();
+            String line = super.readLine();
+            answer++;
+            outputStart = getOutputLength();
+            return line;
+        }
+
+        /**
+         * Checks the selection of the last answer read.
+         * Ends the session if it selected another option.
+         */
+        void checkSelection() {
+            if (answer < 0 || mismatch) return;
+            String expected = script.getSelection(answer);
+            if (expected == null || outputContains("[ => " + expected + "]", outputStart)) return;
+
+            mismatch = true;
+            println("");
+            println("REPLAY MISMATCH: " + script.getName() + ":" + script.getLineNumber(answer)
+                + " should select \"" + expected + "\"");
+            throw new NoSuchElementException("Replay mismatch");
+        }
+
+        boolean hasMismatch() {
+            return mismatch;
+        }
+    }
+
+    /**
+     * Result of a run.
+     */
+    public static class Report {
+        private final int replays;
+        private final int failures;
+        private final double seconds;
+        private final LatencyRecorder latencies;
+        private final String failedOutput;
+
+        private Report(int replays, int failures, double seconds, LatencyRecorder latencies, String failedOutput) {
+            this.replays = replays;
+            this.failures = failures;
+            this.seconds = seconds;
+            this.latencies = latencies;
+            this.failedOutput = failedOutput;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d replays (%d failed) in %.2f s: %.0f replays/s%n",
+                replays, failures, seconds, replays / seconds));
+            sb.append(latencies.report(seconds));
+            if (failedOutput != null) {
+                sb.append("output of a failed replay:\n").append(failedOutput);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Replays the scripts a given number of times.
+     * A replay fails if its session does not consume the whole script and quit.
+     * @param replays
+     * @return
+     */
+    public Report run(int replays) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger remaining = new AtomicInteger(replays);
+        AtomicInteger failures = new AtomicInteger(0);
+        AtomicReference<String> failedOutput = new AtomicReference<>();
+        List<Future<LatencyRecorder>> workers = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (remaining.getAndDecrement() > 0) {
+                    int number = nextNumber.getAndIncrement();
+                    ReplayScript script = scripts.get(number % scripts.size());
+                    List<String> lines = script.lines(number);
+                    ScriptIO io = new ScriptIO(script, lines);
+                    Session session = new Session(io);
+                    session.setMonitor(recorder::record);
+                    session.run();
+                    try {
+                        io.checkSelection(); // last answer
+                    } catch (NoSuchElementException e) {
+                        // reported in the output
+                    }
+
+                    String output = io.getOutput();
+                    if (io.hasMismatch() || io.getReadCount() != lines.size() || !output.endsWith("Bye!\n")) {
+                        failures.incrementAndGet();
+                        failedOutput.compareAndSet(null, output);
+                    }
+                }
+                return recorder;
+            }));
+        }
+
+        LatencyRecorder latencies = new LatencyRecorder();
+        try {
+            for (Future<LatencyRecorder> worker : workers) {
+                latencies.merge(worker.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("replay error", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return new Report(replays, failures.get(), seconds, latencies, failedOutput.get());
+    }
+
+    /**
+     * Gives every game to a bot, so that scripts can always play.
+     * @param collection
+     */
+    static void addBot(GameCollection collection) throws Exception {
+        GameAI ai = new BasicGameAI("replay ai");
+        Bot bot = GameHub.getPlayers().add(new Bot("replay-bot"));
+        bot.addStrategy(ai);
+        for (String name : collection.getGameNames()) {
+            Game game = collection.getGame(name);
+            bot.addGame(game);
+            bot.addGameOption(game, ai);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayHarness <csv> [--script <path>]... [--threads <n>] [--replays <n>] [--warmup <n>]");
+            System.exit(-1);
+        }
+
+        List<ReplayScript> scripts = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int replays = 10000;
+        int warmup = 1000;
+        try {
+            for (int i = 1; i < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--script": scripts.add(ReplayScript.load(Path.of(value))); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--replays": replays = Integer.parseInt(value); break;
+                    case "--warmup": warmup = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (scripts.isEmpty()) scripts.add(ReplayScript.load(Path.of(DEFAULT_SCRIPT)));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.exit(-1);
+        }
+
+        GameHub.load(args[0]);
+        addBot(GameHub.getCollection());
+
+        ReplayHarness harness = new ReplayHarness(scripts, threads);
+        System.out.println("warming up (" + warmup + " replays)...");
+        harness.run(warmup);
+        System.out.println("replaying on " + threads + " threads...");
+        System.out.print(harness.run(replays));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recorded user input replayed in a session.
+ * Each line is an answer typed by the user (an empty line presses Enter),
+ * lines starting with `#` are comments, and `{n}` is replaced by the
+ * number of the replay so that created usernames stay unique.
+ * 
+ * A menu answer can name the option it must select: `3 => create a player`
+ * types `3`, and the replay fails if the menu does not then select
+ * "create a player" (see `ReplayHarness`).
+ */
+public class ReplayScript {
+    private static final String NUMBER = "{n}";
+    private static final String SELECTS = " => ";
+
+    private final String name;
+    private final List<String> lines;
+    /**
+     * Option each answer must select, or null.
+     */
+    private final List<String> selections;
+    /**
+     * Line of each answer in the script, from 1.
+     */
+    private final List<Integer> lineNumbers;
+
+    public ReplayScript(String name, List<String> lines) {
+        this.name = name;
+        this.lines = new ArrayList<>();
+        this.selections = new ArrayList<>();
+        this.lineNumbers = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.startsWith("#")) continue;
+
+            int arrow = line.indexOf(SELECTS);
+            if (arrow < 0) {
+                this.lines.add(line);
+                this.selections.add(null);
+            } else {
+                this.lines.add(line.substring(0, arrow));
+                this.selections.add(line.substring(arrow + SELECTS.length()));
+            }
+            this.lineNumbers.add(i + 1);
+        }
+    }
+
+    /**
+     * Reads a script file.
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    public static ReplayScript load(Path path) throws IOException {
+        return new ReplayScript(path.getFileName().toString(), Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Option that an answer must select.
+     * @param index index of the answer in `lines`
+     * @return the option title, or null if the answer is not checked.
+     */
+    public String getSelection(int index) {
+        return selections.get(index);
+    }
+
+    /**
+     * @param index index of the answer in `lines`
+     * @return the line of the answer in the script, from 1.
+     */
+    public int getLineNumber(int index) {
+        return lineNumbers.get(index);
+    }
+
+    /**
+     * Input of one replay, without the expected selections.
+     * @param number number of the replay
+     * @return
+     */
+    public List<String> lines(int number) {
+        String n = Integer.toString(number);
+        List<String> result = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            result.add(line.replace(NUMBER, n));
+        }
+        return result;
+    }
+}
@@ -42,8 +42,10 @@ public class Child extends RegisteredPlayer {
     public Child(String username, String email, Date birthDate, Platform platform, RegisteredPlayer tutor) throws TutoringException {
         super(username, email, birthDate, platform);
 
+        // the tutor knows the child once it is registered
+        checkTutor(tutor);
         tutors = new ArrayList<>();
-        addTutor(tutor);
+        tutors.add(tutor);
 
         try {
             this.setMemberProfile(new KidProfile());
@@ -53,14 +55,31 @@ public class Child extends RegisteredPlayer {
         }
     }
 
+    private static void checkTutor(RegisteredPlayer tutor) throws TutoringException {
+        if (tutor == null) throw new TutoringException("A tutor must be specified");
+        if (tutor instanceof Child) throw new TutoringException("Tutors must be adults");
+    }
+
+    /**
+     * Joins the platform and the children of the tutor once registered.
+     */
+    @Override
+    protected void registered() {
+        super.registered();
+        try {
+            tutors.get(0).addChild(this);
+        } catch (TutoringException e) {
+            throw new IllegalStateException("A new child can't be known by its tutor", e);
+        }
+    }
+
     /**
      * Add a tutor for the child and add the child to the tutor's children.
      * @param tutor
      * @throws TutoringException if tutoring conditions do not match.
      */
     public void addTutor(RegisteredPlayer tutor) throws TutoringException {
-        if (tutor == null) throw new TutoringException("A tutor must be specified");
-        if (tutor instanceof Child) throw new TutoringException("Tutors must be adults");
+        checkTutor(tutor);
         if (tutors.size() == 2) throw new TutoringException("Maximum of tutors reached.");
 
         tutor.addChild(this); // must be called first to ensure a child is not added twice
@@ -93,8 +112,8 @@ public class Child extends RegisteredPlayer {
         } else {
             // restritcted
             sb.append("username: " + username + "\n");
-            sb.append("games count: " + games.size() + "\n");
-            sb.append("friends count: " + friends.size() + "\n");
+            sb.append("games count: " + getGamesCount() + "\n");
+            sb.append("friends count: " + GameHub.getFriendships().count(this) + "\n");
         }
 
         return sb.toString();
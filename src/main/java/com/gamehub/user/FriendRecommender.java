@@ -0,0 +1,206 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.gamehub.library.Game;
+
+/**
+ * "People you may know": suggests players sharing friends or games with a player.
+ * 
+ * Candidates are the friends of friends of the player (breadth-first, depth 2)
+ * and the other owners of its games. Each mutual friend and each shared game
+ * adds to the score of a candidate. The traversal stops after a bounded
+ * number of visited players, so a query stays cheap whatever the size of the hub.
+ * 
+ * Scores are kept in arrays indexed by player id, reused between the queries
+ * of a thread.
+ */
+public class FriendRecommender {
+    /**
+     * Default maximum of players visited per query.
+     */
+    public static final int DEFAULT_MAX_VISITED = 2_048;
+    private static final int MUTUAL_FRIEND_WEIGHT = 2;
+    private static final int SHARED_GAME_WEIGHT = 1;
+    /**
+     * Score of the player and its friends, which are not suggested.
+     */
+    private static final int EXCLUDED = Integer.MIN_VALUE;
+
+    private final FriendshipGraph graph;
+    private final int maxVisited;
+    private final ThreadLocal<Scratch> scratch;
+
+    public FriendRecommender(FriendshipGraph graph, int maxVisited) {
+        if (graph == null) throw new IllegalArgumentException("The graph can't be null");
+        if (maxVisited < 1) throw new IllegalArgumentException("At least one player must be visited");
+        this.graph = graph;
+        this.maxVisited = maxVisited;
+        this.scratch = ThreadLocal.withInitial(Scratch::new);
+    }
+
+    public FriendRecommender(FriendshipGraph graph) {
+        this(graph, DEFAULT_MAX_VISITED);
+    }
+
+    /**
+     * Buffers of a query: the score of each player by id,
+     * and the players touched by the query (to reset their score).
+     */
+    private static class Scratch {
+        private int[] scores = new int[1024];
+        private int[] touchedIds = new int[256];
+        private Player[] touched = new Player[256];
+        private int touchedCount = 0;
+        private int visited = 0;
+
+        /**
+         * Adds to the score of a player, unless it is excluded.
+         * @param p
+         * @param weight
+         * @return false once the maximum of visited players is reached.
+         */
+        private boolean add(Player p, int weight, int maxVisited) {
+            int id = touch(p);
+            if (scores[id] != EXCLUDED) scores[id] += weight;
+            return ++visited < maxVisited;
+        }
+
+        private void exclude(Player p) {
+            int id = touch(p);
+            scores[id] = EXCLUDED;
+        }
+
+        /**
+         * Records the player as touched by the query if it is the first time.
+         * @param p
+         * @return the id of the player
+         */
+        private int touch(Player p) {
+            int id = p.getId();
+            if (id >= scores.length) {
+                scores = Arrays.copyOf(scores, Math.max(id + 1, scores.length * 2));
+            }
+            if (scores[id] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                    touchedIds = Arrays.copyOf(touchedIds, touchedCount * 2);
+                }
+                touchedIds[touchedCount] = id;
+                touched[touchedCount++] = p;
+            }
+            return id;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touchedIds[i]] = 0;
+                touched[i] = null;
+            }
+            touchedCount = 0;
+            visited = 0;
+        }
+    }
+
+    /**
+     * Best suggestions for a player, by decreasing score (earliest
+     * registered players first on equal scores). Only players the player
+     * is allowed to ask as friends, and that can still accept friends, are suggested.
+     * @param player
+     * @param n maximum number of suggestions
+     * @return
+     */
+    public List<Player> recommend(RegisteredPlayer player, int n) {
+        if (n <= 0) return new ArrayList<>();
+
+        Scratch s = scratch.get();
+        try {
+            collect(player, s);
+            return top(player, n, s);
+        } finally {
+            s.reset();
+        }
+    }
+
+    private void collect(RegisteredPlayer player, Scratch s) {
+        s.exclude(player);
+        for (Player friend : graph.getFriends(player)) {
+            s.exclude(friend);
+        }
+
+        // friends of friends
+        for (Player friend : graph.getFriends(player)) {
+            for (Player candidate : graph.getFriends(friend)) {
+                if (!s.add(candidate, MUTUAL_FRIEND_WEIGHT, maxVisited)) return;
+            }
+        }
+
+        // owners of the same games
+        for (Game game : player.getGames()) {
+            for (RegisteredPlayer candidate : game.getPlayers()) {
+                if (!s.add(candidate, SHARED_GAME_WEIGHT, maxVisited)) return;
+            }
+        }
+    }
+
+    private List<Player> top(RegisteredPlayer player, int n, Scratch s) {
+        // best candidates so far, sorted by decreasing score
+        Player[] best = new Player[n];
+        int[] bestScores = new int[best.length];
+        int size = 0;
+
+        for (int i = 0; i < s.touchedCount; i++) {
+            int score = s.scores[s.touchedIds[i]];
+            if (score <= 0) continue;
+            Player candidate = s.touched[i];
+            if (size == best.length && !isBetter(candidate, score, best[size - 1], bestScores[size - 1])) continue;
+            if (!player.memberProfile.canAskFriendship(player, candidate)) continue;
+            if (graph.count(candidate) >= candidate.memberProfile.maxFriends()) continue;
+
+            // insertion in the sorted arrays
+            int pos = (size < best.length) ? size++ : size - 1;
+            while (pos > 0 && isBetter(candidate, score, best[pos - 1], bestScores[pos - 1])) {
+                best[pos] = best[pos - 1];
+                bestScores[pos] = bestScores[pos - 1];
+                pos--;
+            }
+            best[pos] = candidate;
+            bestScores[pos] = score;
+        }
+
+        List<Player> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) result.add(best[i]);
+        return result;
+    }
+
+    private static boolean isBetter(Player p1, int score1, Player p2, int score2) {
+        return score1 > score2 || (score1 == score2 && p1.getId() < p2.getId());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.user;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store of the friendships between players, as an undirected graph:
+ * each player has the set of its friends (adjacency set).
+ * 
+ * Both sides of a friendship are always updated together, under a
+ * common lock. Readers do not take it: they may see a friendship
+ * being added or removed on one side only for a moment.
+ */
+public class FriendshipGraph {
+    private final ConcurrentHashMap<Player, Set<Player>> adjacency;
+    private final Object lock;
+
+    public FriendshipGraph() {
+        adjacency = new ConcurrentHashMap<>();
+        lock = new Object();
+    }
+
+    private Set<Player> adjacencyOf(Player p) {
+        return adjacency.computeIfAbsent(p, (key) -> ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Makes two players friends, if none of them reached its maximum of friends.
+     * @param p1
+     * @param p2
+     * @throws IllegalFriendshipException if they are the same player, are already friends or a limit is reached.
+     */
+    public void add(Player p1, Player p2) throws IllegalFriendshipException {
+        if (p1 == null || p2 == null) throw new IllegalArgumentException("parameters can't be null");
+        if (p1.equals(p2)) {
+            throw new IllegalFriendshipException(p1.getUsername() + " can't be a friend of themselves.");
+        }
+
+        synchronized (lock) {
+            // the adjacency sets are only created for an accepted friendship
+            Set<Player> friends1 = adjacency.get(p1);
+            Set<Player> friends2 = adjacency.get(p2);
+
+            if (friends1 != null && friends1.contains(p2)) {
+                throw new IllegalFriendshipException(p2.getUsername() + " is already a friend of " + p1.getUsername());
+            }
+            checkLimit(p1, friends1);
+            checkLimit(p2, friends2);
+
+            adjacencyOf(p1).add(p2);
+            adjacencyOf(p2).add(p1);
+        }
+    }
+
+    /**
+     * @param friends adjacency set of the player, null if it has none yet
+     */
+    private static void checkLimit(Player p, Set<Player> friends) throws IllegalFriendshipException {
+        int count = (friends == null) ? 0 : friends.size();
+        if (count >= p.memberProfile.maxFriends()) {
+            throw new IllegalFriendshipException(p.getUsername() + " reached the maximum of friends.");
+        }
+    }
+
+    /**
+     * Removes a friendship on both players.
+     * @param p1
+     * @param p2
+     * @throws IllegalFriendshipException if the friendship does not exist.
+     */
+    public void remove(Player p1, Player p2) throws IllegalFriendshipException {
+        synchronized (lock) {
+            Set<Player> friends1 = adjacency.get(p1);
+            Set<Player> friends2 = adjacency.get(p2);
+
+            if (friends1 == null || friends2 == null || !friends1.contains(p2) || !friends2.contains(p1)) {
+                throw new IllegalFriendshipException("This friendship does not exist.");
+            }
+
+            friends1.remove(p2);
+            friends2.remove(p1);
+        }
+    }
+
+    /**
+     * Removes a player and all of its friendships.
+     * @param p
+     */
+    public void removeAll(Player p) {
+        synchronized (lock) {
+            Set<Player> friends = adjacency.remove(p);
+            if (friends == null) return;
+            for (Player f : friends) {
+                Set<Player> other = adjacency.get(f);
+                if (other != null) other.remove(p);
+            }
+        }
+    }
+
+    public boolean areFriends(Player p1, Player p2) {
+        Set<Player> friends = adjacency.get(p1);
+        return friends != null && friends.contains(p2);
+    }
+
+    /**
+     * Live view of the friends of a player.
+     * @param p
+     * @return
+     */
+    public Set<Player> getFriends(Player p) {
+        Set<Player> friends = adjacency.get(p);
+        return (friends == null) ? Collections.emptySet() : Collections.unmodifiableSet(friends);
+    }
+
+    public int count(Player p) {
+        Set<Player> friends = adjacency.get(p);
+        return (friends == null) ? 0 : friends.size();
+    }
+}
@@ -24,7 +24,7 @@ SOFTWARE.
 
 package com.gamehub.user;
 
-import java.util.ArrayList;
+import java.util.Set;
 
 import com.gamehub.GameHub;
 import com.gamehub.user.bot.Bot;
@@ -37,21 +37,48 @@ import com.gamehub.user.profile.MemberProfile;
  * (registered players, bots, etc.)
  */
 public abstract class Player {
+    /**
+     * Id of a player that is not registered yet.
+     */
+    public static final int UNREGISTERED = -1;
+
+    /**
+     * Unique number of the player (0, 1, 2...), for primitive keyed structures,
+     * assigned by `PlayerRegistry.register()`.
+     * The player can be found back from it with `PlayerRegistry.get(int)`.
+     */
+    private int id;
     protected final String username;
     protected MemberProfile memberProfile;
-    protected ArrayList<Player> friends;
     
     public Player(String username) {
         if (username == null) throw new IllegalArgumentException("A username must be specified");
-        if (!GameHub.usernameAvailable(username)) {
-            throw new IllegalArgumentException("Username taken: " + username);
-        }
+        this.id = UNREGISTERED;
         this.username = username;
         this.memberProfile = null;
-        this.friends = new ArrayList<>();
-        GameHub.addPlayer(this);
     }
     
+    /**
+     * @return the id, or `UNREGISTERED` if the player is not registered yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Called by the registry once the username is reserved.
+     * @param id
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Called by the registry once the player is registered,
+     * to link it to the rest of the hub.
+     */
+    protected void registered() {}
+
     public String getUsername() {
         return username;
     }
@@ -66,12 +93,7 @@ public abstract class Player {
             throw new IllegalFriendshipException("The profile do not allow this friendship.");
         }
 
-        if (friends.contains(p)) {
-            throw new IllegalFriendshipException(p.getUsername() + " is already a friend of " + this.getUsername());
-        }
-
-        this.friends.add(p);
-        p.friends.add(this);
+        GameHub.getFriendships().add(this, p);
     }
 
     /**
@@ -80,16 +102,19 @@ public abstract class Player {
      * @throws IllegalFriendshipException
      */
     public void removeFriend(Player p) throws IllegalFriendshipException {
-        if (this.friends.contains(p) && p.friends.contains(this)) {
-            this.friends.remove(p);
-            p.friends.remove(this);
-        } else {
-            throw new IllegalFriendshipException("This friendship does not exist.");
-        }
+        GameHub.getFriendships().remove(this, p);
     }
 
     public boolean hasFriend(Player p) {
-        return friends.contains(p);
+        return GameHub.getFriendships().areFriends(this, p);
+    }
+
+    /**
+     * Live view of the friends of the player.
+     * @return
+     */
+    public Set<Player> getFriends() {
+        return GameHub.getFriendships().getFriends(this);
     }
 
     /**
@@ -115,7 +140,7 @@ public abstract class Player {
         
         sb.append("username: " + username + "\n");
         sb.append("profile: " + memberProfile.getName() + "\n");
-        sb.append("friends count: " + friends.size() + "\n");
+        sb.append("friends count: " + GameHub.getFriendships().count(this) + "\n");
 
         return sb.toString();
     }
@@ -126,6 +151,11 @@ public abstract class Player {
         if (arg0 == null) return false;
         if (!(arg0 instanceof Player)) return false;
         Player p2 = (Player) arg0;
-        return this.username == p2.username;
+        return this.username.equals(p2.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
     }
 }
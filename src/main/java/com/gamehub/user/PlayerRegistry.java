@@ -0,0 +1,173 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.user;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gamehub.user.bot.Bot;
+import com.gamehub.utils.IdTable;
+
+/**
+ * Store of every player (bots and registered players) by username and by id.
+ * 
+ * Usernames are reserved atomically: registering the same username from
+ * several threads succeeds exactly once, and only then an id is given
+ * to the player. Removed players are deleted from the store, freeing
+ * their username but not their id.
+ */
+public class PlayerRegistry {
+    private final ConcurrentHashMap<String, Player> players;
+    private final IdTable<Player> playersById;
+    private final AtomicInteger botsCount;
+    private final AtomicInteger nextId;
+
+    public PlayerRegistry() {
+        players = new ConcurrentHashMap<>();
+        playersById = new IdTable<>();
+        botsCount = new AtomicInteger(0);
+        nextId = new AtomicInteger(0);
+    }
+
+    /**
+     * Check if a username is available by checking if a player instance
+     * (bot or real player) has this username.
+     * The answer may be outdated as soon as it is returned,
+     * only `register()` reserves the username.
+     * @param username
+     * @return
+     */
+    public boolean isAvailable(String username) {
+        return !players.containsKey(username);
+    }
+
+    /**
+     * Adds a new player and gives it an id if its username is available.
+     * @param p the player to add
+     * @return false if the username is already taken.
+     */
+    public boolean register(Player p) {
+        if (p == null) throw new IllegalArgumentException("The parameter can't be null");
+        if (p.getId() != Player.UNREGISTERED) {
+            throw new IllegalArgumentException("The player is already registered: " + p.getUsername());
+        }
+
+        // the id is drawn once the username is reserved, before the player is visible
+        Player registered = players.computeIfAbsent(p.getUsername(), (username) -> {
+            p.setId(nextId.getAndIncrement());
+            return p;
+        });
+        if (registered != p) return false;
+
+        playersById.set(p.getId(), p);
+        if (p instanceof Bot) botsCount.incrementAndGet();
+        p.registered();
+        return true;
+    }
+
+    /**
+     * Adds a new player, see `register()`.
+     * @param <P> type of the player
+     * @param p the player to add
+     * @return the player
+     * @throws IllegalArgumentException if the username is already taken.
+     */
+    public <P extends Player> P add(P p) {
+        if (!register(p)) throw new IllegalArgumentException("Username taken: " + p.getUsername());
+        return p;
+    }
+
+    /**
+     * Removes a player, freeing its username.
+     * @param p the player to remove
+     * @return false if the player was not registered.
+     */
+    public boolean unregister(Player p) {
+        if (p == null) throw new IllegalArgumentException("The parameter can't be null");
+        if (!players.remove(p.getUsername(), p)) return false;
+        playersById.remove(p.getId(), p);
+        if (p instanceof Bot) botsCount.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the player with the given username.
+     * @param username
+     * @return the player, or null if there is none.
+     */
+    public Player get(String username) {
+        return players.get(username);
+    }
+
+    /**
+     * Returns the player with the given id.
+     * @param id
+     * @return the player, or null if there is none.
+     */
+    public Player get(int id) {
+        return playersById.get(id);
+    }
+
+    /**
+     * Id of the first player from an id, to read the players
+     * by id (in the order of their creation) without copying them.
+     * @param fromId
+     * @return the id, or -1 if there is no player from this id.
+     */
+    public int nextId(int fromId) {
+        return playersById.next(fromId);
+    }
+
+    /**
+     * Live view of the players. Iterating it while players are
+     * added or removed does not fail, but may or may not show the changes.
+     * @return
+     */
+    public Collection<Player> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    /**
+     * Number of players, bots included.
+     * @return
+     */
+    public int count() {
+        return players.size();
+    }
+
+    public int countBots() {
+        return botsCount.get();
+    }
+
+    /**
+     * Number of players that are not bots (admin included).
+     * @return
+     */
+    public int countRegisteredPlayers() {
+        return count() - countBots();
+    }
+}
@@ -25,10 +25,13 @@ SOFTWARE.
 package com.gamehub.user;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Date;
+import java.util.List;
 
 import com.gamehub.GameHub;
 import com.gamehub.library.Game;
+import com.gamehub.library.GameCollection;
 import com.gamehub.library.Platform;
 import com.gamehub.user.profile.IllegalProfileException;
 import com.gamehub.user.profile.StandardProfile;
@@ -41,21 +44,20 @@ public class RegisteredPlayer extends Player {
     protected final String email;
     protected final Date birthDate;
     protected final Platform platform;
-    protected ArrayList<Game> games;
+    /**
+     * Ids of the owned games, the only record of the ownership.
+     * Replaced (never modified) when a game is obtained,
+     * so readers do not need to lock.
+     */
+    private volatile BitSet ownedGames;
     protected ArrayList<Child> children;
     
     public RegisteredPlayer(String username, String email, Date birthDate, Platform platform) {
-        super(username);
-        if (platform == null) throw new IllegalArgumentException("platform must be defined.");
-        if (birthDate == null) throw new IllegalArgumentException("birth date must be defined.");
-        if (username == null || username == "") throw new IllegalArgumentException("username must be defined.");
-        if (email == null || email == "") throw new IllegalArgumentException("email must be defined.");
-        // for simplicity, it is not checked if an email is valid, nor if a username is unique.
+        super(checkArguments(username, email, birthDate, platform));
         this.email = email;
         this.birthDate = birthDate;
         this.platform = platform;
-        platform.addPlayer(this);
-        this.games = new ArrayList<>();
+        this.ownedGames = new BitSet();
         this.children = new ArrayList<>();
 
         try {
@@ -66,17 +68,39 @@ public class RegisteredPlayer extends Player {
         }
     }
 
+    /**
+     * Validates the constructor arguments.
+     * @return the username
+     */
+    private static String checkArguments(String username, String email, Date birthDate, Platform platform) {
+        if (platform == null) throw new IllegalArgumentException("platform must be defined.");
+        if (birthDate == null) throw new IllegalArgumentException("birth date must be defined.");
+        if (username == null || username == "") throw new IllegalArgumentException("username must be defined.");
+        if (email == null || email == "") throw new IllegalArgumentException("email must be defined.");
+        // for simplicity, it is not checked if an email is valid.
+        return username;
+    }
+
     public Platform getPlatform() {
         return platform;
     }
 
+    /**
+     * Joins the platform once registered.
+     */
+    @Override
+    protected void registered() {
+        platform.addPlayer(this);
+    }
+
     /**
      * Add a game to the player, let it be for itself or through a gift.
+     * Synchronized so that the checks and the addition are atomic.
      * @param g game to obtain
      * @throws GameAcquiringException
      */
-    public void obtainGame(Game g) throws GameAcquiringException {
-        if (this.games.size() >= this.memberProfile.maxGames()) {
+    public synchronized void obtainGame(Game g) throws GameAcquiringException {
+        if (ownedGames.cardinality() >= this.memberProfile.maxGames()) {
             throw new GameAcquiringException("Trying to give a game while the limit has been reached.");
         }
 
@@ -84,16 +108,46 @@ public class RegisteredPlayer extends Player {
             throw new GameAcquiringException("The game do not support the player's platform.");
         }
 
-        if (games.contains(g)) {
+        BitSet owned = ownedGames;
+        if (owned.get(g.getId())) {
             throw new GameAcquiringException("The player already own this game.");
         }
 
-        this.games.add(g);
+        BitSet updated = (BitSet) owned.clone();
+        updated.set(g.getId());
+        ownedGames = updated;
         g.addPlayer(this);
     }
 
+    /**
+     * Games of the player, in the order of their ids.
+     * Ids are kept by catalog reloads, so the games are found back in the current collection.
+     * @return a copy
+     */
+    public List<Game> getGames() {
+        BitSet owned = ownedGames;
+        GameCollection collection = GameHub.getCollection();
+        ArrayList<Game> games = new ArrayList<>(owned.cardinality());
+        for (int id = owned.nextSetBit(0); id >= 0; id = owned.nextSetBit(id + 1)) {
+            games.add(collection.getGame(id));
+        }
+        return games;
+    }
+
+    public int getGamesCount() {
+        return ownedGames.cardinality();
+    }
+
     public boolean hasGame(Game game) {
-        return games.contains(game);
+        return ownedGames.get(game.getId());
+    }
+
+    /**
+     * Ids of the games owned by the player.
+     * @return a copy
+     */
+    public BitSet getOwnedGameIds() {
+        return (BitSet) ownedGames.clone();
     }
 
     /**
@@ -106,18 +160,11 @@ public class RegisteredPlayer extends Player {
         p.obtainGame(g);
     }
 
-    public void deleteAccount() {
-        for (int i = friends.size() - 1; i >= 0; i--) {
-            Player f = friends.get(i);
-            try {
-                f.removeFriend(this);
-            } catch (IllegalFriendshipException e) {
-                System.err.println("Could not remove friendship between " + this.username + " and " + f.username + ".");
-            }
-        }
-        for (Game g : games) g.removePlayer(this);
+    public synchronized void deleteAccount() {
+        GameHub.getFriendships().removeAll(this);
+        for (Game g : getGames()) g.removePlayer(this);
         platform.removePlayer(this);
-        GameHub.removePlayer(this);
+        GameHub.getPlayers().unregister(this);
     }
 
     /**
@@ -150,7 +197,7 @@ public class RegisteredPlayer extends Player {
         sb.append("email: " + email + "\n");
         sb.append("platform: " + platform.getName() + "\n");
         sb.append("games:\n");
-        for (Game g : games) {
+        for (Game g : getGames()) {
             double ratio = g.getWinRatio(this);
             sb.append("- " + g.getName() + " (win ratio = " + (ratio*100) + "%)\n");
         }
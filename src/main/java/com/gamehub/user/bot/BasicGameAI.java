@@ -24,14 +24,14 @@ SOFTWARE.
 
 package com.gamehub.user.bot;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * AI that wins if a random value is greater than
  * the win probability.
  */
 public class BasicGameAI implements GameAI {
-    private static Random random = new Random();
     private float winProbability;
     private final String name;
 
@@ -53,6 +53,11 @@ public class BasicGameAI implements GameAI {
 
     @Override
     public boolean wins() {
+        return ThreadLocalRandom.current().nextFloat() >= winProbability;
+    }
+
+    @Override
+    public boolean wins(SplittableRandom random) {
         return random.nextFloat() >= winProbability;
     }
 
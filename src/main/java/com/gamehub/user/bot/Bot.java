@@ -25,6 +25,7 @@ package com.gamehub.user.bot;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.SplittableRandom;
 
 import com.gamehub.library.Game;
 import com.gamehub.user.Player;
@@ -102,4 +103,15 @@ public class Bot extends Player {
         GameAI ai = gameOptions.get(game).get(0);
         return ai.wins();
     }
+
+    /**
+     * Play against the AI for the given game, using the given generator
+     * @param game
+     * @param random
+     * @return
+     */
+    public boolean playGameOption(Game game, SplittableRandom random) {
+        GameAI ai = gameOptions.get(game).get(0);
+        return ai.wins(random);
+    }
 }
@@ -23,6 +23,8 @@ SOFTWARE.
 */
 package com.gamehub.user.bot;
 
+import java.util.SplittableRandom;
+
 /**
  * Interface for defining a class as an AI.
  * The only requirement for it is to be able to
@@ -31,4 +33,14 @@ package com.gamehub.user.bot;
 public interface GameAI {
     public boolean wins();
     public String getName();
+
+    /**
+     * Same as `wins()`, drawing from the given generator so
+     * concurrent simulations do not share one.
+     * @param random
+     * @return
+     */
+    public default boolean wins(SplittableRandom random) {
+        return wins();
+    }
 }
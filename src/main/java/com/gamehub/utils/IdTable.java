@@ -0,0 +1,133 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Table of values indexed by dense int ids (0, 1, 2...).
+ * 
+ * Values are stored in fixed size segments allocated on demand.
+ * Readers never lock; writers synchronize only to add segments.
+ * @param <T>
+ */
+public class IdTable<T> {
+    private static final int SEGMENT_SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Directory of the segments, replaced when it grows.
+     */
+    private volatile AtomicReferenceArray<T>[] segments;
+
+    public IdTable() {
+        segments = newDirectory(4);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> AtomicReferenceArray<T>[] newDirectory(int length) {
+        return (AtomicReferenceArray<T>[]) new AtomicReferenceArray[length];
+    }
+
+    /**
+     * Value of an id.
+     * @param id
+     * @return the value, or null if there is none.
+     */
+    public T get(int id) {
+        if (id < 0) return null;
+        AtomicReferenceArray<T>[] dir = segments;
+        int segment = id >>> SEGMENT_SHIFT;
+        if (segment >= dir.length || dir[segment] == null) return null;
+        return dir[segment].get(id & SEGMENT_MASK);
+    }
+
+    /**
+     * First id having a value, from an id. Used to iterate
+     * the values by id; empty segments are skipped.
+     * @param from first id to check
+     * @return the id, or -1 if there is none.
+     */
+    public int next(int from) {
+        AtomicReferenceArray<T>[] dir = segments;
+        int id = Math.max(from, 0);
+        while ((id >>> SEGMENT_SHIFT) < dir.length) {
+            AtomicReferenceArray<T> segment = dir[id >>> SEGMENT_SHIFT];
+            if (segment == null) {
+                id = ((id >>> SEGMENT_SHIFT) + 1) << SEGMENT_SHIFT;
+            } else if (segment.get(id & SEGMENT_MASK) != null) {
+                return id;
+            } else {
+                id++;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Associates a value to an id.
+     * @param id (not negative)
+     * @param value (null to remove)
+     */
+    public void set(int id, T value) {
+        if (id < 0) throw new IllegalArgumentException("Ids can't be negative");
+        segment(id >>> SEGMENT_SHIFT).set(id & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Removes the value of an id, if it is the given one.
+     * @param id
+     * @param value
+     * @return false if the id had another value.
+     */
+    public boolean remove(int id, T value) {
+        if (id < 0) return false;
+        AtomicReferenceArray<T>[] dir = segments;
+        int segment = id >>> SEGMENT_SHIFT;
+        if (segment >= dir.length || dir[segment] == null) return false;
+        return dir[segment].compareAndSet(id & SEGMENT_MASK, value, null);
+    }
+
+    private AtomicReferenceArray<T> segment(int index) {
+        AtomicReferenceArray<T>[] dir = segments;
+        if (index < dir.length && dir[index] != null) return dir[index];
+
+        synchronized (this) {
+            dir = segments;
+            if (index >= dir.length) {
+                dir = Arrays.copyOf(dir, Math.max(index + 1, dir.length * 2));
+            }
+            if (dir[index] == null) {
+                dir[index] = new AtomicReferenceArray<>(SEGMENT_SIZE);
+            }
+            // publish the directory after its new segment
+            segments = dir;
+            return dir[index];
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.utils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Options of a menu read from a random access list.
+ * Positions are indexes in the list.
+ * @param <T> type of the options
+ */
+public class ListMenuSource<T> implements MenuSource<T> {
+    private final List<T> options;
+    private final Function<T, String> titles;
+
+    /**
+     * @param options list of the options (not copied)
+     * @param titles display text of an option
+     */
+    public ListMenuSource(List<T> options, Function<T, String> titles) {
+        this.options = options;
+        this.titles = titles;
+    }
+
+    @Override
+    public int sizeHint() {
+        return options.size();
+    }
+
+    @Override
+    public int read(int position, int count, List<T> page) {
+        int end = Math.min(position + count, options.size());
+        for (int i = position; i < end; i++) {
+            page.add(options.get(i));
+        }
+        return (end < options.size()) ? end : -1;
+    }
+
+    @Override
+    public String getTitle(T option) {
+        return titles.apply(option);
+    }
+}
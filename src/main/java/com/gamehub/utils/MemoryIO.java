@@ -0,0 +1,117 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Menu input and output held in memory, for scripted sessions.
+ * The input is a fixed list of lines, and the output is kept
+ * until it is read.
+ */
+public class MemoryIO implements MenuIO {
+    private final List<String> lines;
+    private int nextLine;
+    private final StringBuilder output;
+    private int flushCount;
+
+    /**
+     * @param lines lines typed by the user, in order
+     */
+    public MemoryIO(List<String> lines) {
+        this.lines = new ArrayList<>(lines);
+        this.nextLine = 0;
+        this.output = new StringBuilder();
+        this.flushCount = 0;
+    }
+
+    /**
+     * @param input text typed by the user, one answer per line
+     */
+    public MemoryIO(String input) {
+        this(Arrays.asList(
+            (input.endsWith("\n") ? input.substring(0, input.length() - 1) : input).split("\n", -1)
+        ));
+    }
+
+    @Override
+    public String readLine() {
+        if (nextLine >= lines.size()) throw new NoSuchElementException("End of the script");
+        return lines.get(nextLine++);
+    }
+
+    @Override
+    public void print(CharSequence text) {
+        output.append(text);
+    }
+
+    @Override
+    public void flush() {
+        flushCount++;
+    }
+
+    /**
+     * Everything written so far.
+     * @return
+     */
+    public String getOutput() {
+        return output.toString();
+    }
+
+    public int getOutputLength() {
+        return output.length();
+    }
+
+    /**
+     * Returns if the output written from an index contains a text.
+     * @param text
+     * @param from index in the output
+     * @return
+     */
+    public boolean outputContains(String text, int from) {
+        return output.indexOf(text, from) >= 0;
+    }
+
+    /**
+     * Number of times the output was flushed, i.e. of writes
+     * a stream would have done.
+     * @return
+     */
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * Number of lines read so far.
+     * @return
+     */
+    public int getReadCount() {
+        return nextLine;
+    }
+}
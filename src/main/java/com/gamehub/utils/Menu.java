@@ -30,8 +30,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.InputMismatchException;
-import java.util.Scanner;
 import java.util.function.Function;
 
 /**
@@ -44,42 +42,71 @@ public class Menu {
 
     // must not be closed or the input stream is closed
     // and unavailable until the program restarts.
-    public static final Scanner scanner = new Scanner(System.in);
+    public static final MenuIO console = new ConsoleIO();
+
+    // input and output of the session running on the current thread
+    private static final ThreadLocal<MenuIO> io = ThreadLocal.withInitial(() -> console);
+
+    /**
+     * Makes the menus of the current thread use the given input and output
+     * instead of the console.
+     * @param sessionIO
+     */
+    public static void bind(MenuIO sessionIO) {
+        io.set(sessionIO);
+    }
+
+    /**
+     * Makes the menus of the current thread use the console again.
+     */
+    public static void unbind() {
+        io.remove();
+    }
+
+    /**
+     * Input and output of the current thread's menus.
+     * @return
+     */
+    public static MenuIO io() {
+        return io.get();
+    }
+
     /**
      * Asks the user for an integer while the input is not valid
      * and return the result
+     * @param io input and output to use
      * @param promptMsg display message
      * @param min min value
      * @param max max value
      * @return user response
      */
-    public static int getInputInt(String promptMsg, int min, int max) {
+    public static int getInputInt(MenuIO io, String promptMsg, int min, int max) {
         int response = -1;
 
         boolean invalid = true;
 
         // re-ask until the input is valid
         while (invalid) {
-            System.out.print(promptMsg + ": ");
+            io.print(promptMsg + ": ");
+            io.flush();
             
             try {
-                response = scanner.nextInt();
+                response = Integer.parseInt(io.readLine().trim());
                 invalid = (response > max || response < min);
-            } catch (InputMismatchException e) {
+            } catch (NumberFormatException e) {
                 invalid = true;
-                // empty the queue to not cause an infinite loop
-                // due to the invalid value not being consumed.
-                scanner.next();
             }
             
-            if (invalid) System.out.println("invalid input!");
+            if (invalid) io.println("invalid input!");
         }
 
-        scanner.nextLine(); // consume the \n not consumed by nextInt()
-
         return response;
     }
 
+    public static int getInputInt(String promptMsg, int min, int max) {
+        return getInputInt(io(), promptMsg, min, max);
+    }
+
     /**
      * Asks the user for an integer while the input is not valid
      * and return the result
@@ -93,35 +120,34 @@ public class Menu {
     /**
      * Ask the user for a string while the input is invalid
      * and return the result
+     * @param io input and output to use
      * @param promptMsg
      * @param validityFunction function that returns if a string is a valid input
      * @return
      */
-    public static String getInputString(String promptMsg, Function<String, Boolean> validityFunction) {
+    public static String getInputString(MenuIO io, String promptMsg, Function<String, Boolean> validityFunction) {
         String response = null;
 
         boolean invalid = true;
 
         // re-ask until the input is valid
         while (invalid) {
-            System.out.print(promptMsg + ": ");
+            io.print(promptMsg + ": ");
+            io.flush();
             
-            try {
-                response = scanner.nextLine();
-                invalid = !validityFunction.apply(response);
-            } catch (InputMismatchException e) {
-                invalid = true;
-                // empty the queue to not cause an infinite loop
-                // due to the invalid value not being consumed.
-                scanner.next();
-            }
+            response = io.readLine();
+            invalid = !validityFunction.apply(response);
             
-            if (invalid) System.out.println("invalid input!");
+            if (invalid) io.println("invalid input!");
         }
 
         return response;
     }
 
+    public static String getInputString(String promptMsg, Function<String, Boolean> validityFunction) {
+        return getInputString(io(), promptMsg, validityFunction);
+    }
+
     public static String getInputString(String promptMsg) {
         return getInputString(promptMsg, (str) -> {return true;});
     }
@@ -129,59 +155,164 @@ public class Menu {
 
 
     /**
-     * Shows a menu of options, with an index associated for each option.
-     * Asks the user for one of the options, and execute the associated action.
+     * Shows a menu of options read page by page from a source,
+     * with an index associated for each option, and asks the user for one of the options.
+     * Only the options of the displayed page are read. As in the menus over lists,
+     * the index of any option of the source is accepted: the page of an option of
+     * another page is read when it is selected. Each page is rendered
+     * in one buffer and written at once.
+     * @param <T> type of the options
+     * @param io input and output to use
      * @param title
-     * @param options (at least one must be provided)
-     * @param page the page to show
-     * @return the selected value
+     * @param source options of the menu
+     * @param page the page to show first
+     * @return the selected option, or null if the source has no option.
      */
-    public static int showMenu(String title, ArrayList<MenuOption> options, int page) {
-        if (options == null || options.isEmpty()) {
-            throw new MenuException("At least one option must be provided");
+    public static <T> T showMenu(MenuIO io, String title, MenuSource<T> source, int page) {
+        // start position of each page visited, to go back
+        int[] starts = new int[Math.max(4, page + 1)];
+        ArrayList<T> options = new ArrayList<>(PAGE_LENGTH);
+        int next = source.read(0, PAGE_LENGTH, options);
+        if (options.isEmpty()) return null;
+
+        // skip to the first page to show
+        int current = 0;
+        while (current < page && next >= 0) {
+            starts[++current] = next;
+            options.clear();
+            next = source.read(next, PAGE_LENGTH, options);
         }
 
-        int min = page * PAGE_LENGTH;
-        int max = Math.min(min + PAGE_LENGTH, options.size());
+        StringBuilder sb = new StringBuilder();
 
-        // display
-        long pageMax = (long) Math.floor(options.size() / PAGE_LENGTH);
-        System.out.println("================ ["+title+" | page "+(page+1)+"/"+(pageMax+1)+"] ================");
+        // navigate between pages until an option is selected
+        while (true) {
+            if (options.isEmpty()) {
+                // the source changed since the page was read: back to the first page
+                current = 0;
+                next = source.read(0, PAGE_LENGTH, options);
+                if (options.isEmpty()) return null;
+            }
+
+            int min = current * PAGE_LENGTH;
+            int pagesCount = (next < 0)
+                ? current + 1
+                : Math.max(current + 2, (source.sizeHint() + PAGE_LENGTH - 1) / PAGE_LENGTH);
+
+            // display
+            sb.setLength(0);
+            sb.append("================ [").append(title).append(" | page ").append(current + 1)
+                .append('/').append(pagesCount).append("] ================\n");
+
+            for (int i = 0; i < options.size(); i++) {
+                sb.append(min + i).append(" - ").append(source.getTitle(options.get(i))).append('\n');
+            }
+
+            int minInput = 0;
+            int maxInput = Math.max(min + options.size(), source.sizeHint()) - 1;
+            int respPrevious = Integer.MIN_VALUE;
+            int respNext = Integer.MIN_VALUE;
+            if (current > 0) {
+                minInput--;
+                respPrevious = minInput;
+                sb.append(minInput).append(" - PREVIOUS\n");
+            }
+            if (next >= 0) {
+                minInput--;
+                respNext = minInput;
+                sb.append(minInput).append(" - NEXT\n");
+            }
+            io.print(sb);
+
+            // input
+            int response = getInputInt(io, "-> action ("+minInput+" to "+maxInput+")", minInput, maxInput);
+
+            T selected = null;
+            if (response == respPrevious) {
+                current--;
+                options.clear();
+                next = source.read(starts[current], PAGE_LENGTH, options);
+            } else if (response == respNext) {
+                if (++current == starts.length) starts = Arrays.copyOf(starts, current * 2);
+                starts[current] = next;
+                options.clear();
+                next = source.read(next, PAGE_LENGTH, options);
+            } else if (response >= min && response < min + options.size()) {
+                selected = options.get(response - min);
+            } else {
+                selected = optionAt(source, response, starts, current, next);
+                if (selected == null) io.println("invalid input!");
+            }
 
-        for (int i = min; i < max; i++) {
-            System.out.println(i + " - " + options.get(i).getTitle());
+            if (selected != null) {
+                io.println("================ [ => " + source.getTitle(selected) + "] ================");
+                return selected;
+            }
         }
+    }
 
-        int minInput = 0;
-        int maxInput = options.size() - 1;
-        int respPrevious = Integer.MIN_VALUE;
-        int respNext = Integer.MIN_VALUE;
-        if (min > 0) {
-            minInput--;
-            respPrevious = minInput;
-            System.out.println(minInput + " - PREVIOUS");
+    /**
+     * Reads the option at an index outside of the displayed page.
+     * @param source options of the menu
+     * @param index index of the option
+     * @param starts start position of each page visited
+     * @param current displayed page
+     * @param next position of the page following the displayed one, -1 if there is none
+     * @return the option, or null if the source has no option at this index.
+     */
+    private static <T> T optionAt(MenuSource<T> source, int index, int[] starts, int current, int next) {
+        int page = index / PAGE_LENGTH;
+        int position;
+        int read;
+        if (page <= current) {
+            // page shown before
+            position = starts[page];
+            read = page;
+        } else {
+            // page not visited yet, read after the displayed one
+            position = next;
+            read = current + 1;
         }
-        if (min + PAGE_LENGTH <= options.size()) {
-            minInput--;
-            respNext = minInput;
-            System.out.println(minInput + " - NEXT");
+
+        ArrayList<T> options = new ArrayList<>(PAGE_LENGTH);
+        while (position >= 0) {
+            options.clear();
+            position = source.read(position, PAGE_LENGTH, options);
+            if (read == page) {
+                return (index % PAGE_LENGTH < options.size()) ? options.get(index % PAGE_LENGTH) : null;
+            }
+            read++;
         }
+        return null;
+    }
 
-        // input
-        int response = getInputInt("-> action ("+minInput+" to "+maxInput+")", minInput, options.size()-1);
+    public static <T> T showMenu(String title, MenuSource<T> source) {
+        return showMenu(io(), title, source, 0);
+    }
+
+    /**
+     * Shows a menu of options, with an index associated for each option.
+     * Asks the user for one of the options, and execute the associated action.
+     * @param io input and output to use
+     * @param title
+     * @param options (at least one must be provided)
+     * @param page the page to show
+     * @return the selected value
+     */
+    public static int showMenu(MenuIO io, String title, ArrayList<MenuOption> options, int page) {
+        if (options == null || options.isEmpty()) {
+            throw new MenuException("At least one option must be provided");
+        }
+
+        MenuOption selected = showMenu(io, title, new ListMenuSource<>(options, MenuOption::getTitle), page);
 
         // action
-        if (response == respPrevious) {
-            return showMenu(title, options, page - 1);
+        selected.call();
+        return options.indexOf(selected);
+    }
 
-        } else if (response == respNext) {
-            return showMenu(title, options, page + 1);
-        
-        } else {
-            System.out.println("================ [ => " + options.get(response).getTitle() + "] ================");
-            options.get(response).call();
-            return response;
-        }
+    public static int showMenu(String title, ArrayList<MenuOption> options, int page) {
+        return showMenu(io(), title, options, page);
     }
 
     public static int showMenu(String title, ArrayList<MenuOption> options) {
@@ -206,8 +337,10 @@ public class Menu {
      * @param promptMsg message to display
      */
     public static void pressEnterToConfirm(String promptMsg) {
-        System.out.print(promptMsg + " [press Enter]");
-        scanner.nextLine();
+        MenuIO io = io();
+        io.print(promptMsg + " [press Enter]");
+        io.flush();
+        io.readLine();
     }
 
     public static void pressEnterToConfirm() {
@@ -236,7 +369,7 @@ public class Menu {
         pressEnterToConfirm("back");
 
         try {
-            showMenu(null, null);
+            showMenu(null, (ArrayList<MenuOption>) null);
         } catch (Exception e) {
             // it should throw if no option is given (not for a null title)
             int result = showMenu("yes or no ?", new ArrayList<>(Arrays.asList(
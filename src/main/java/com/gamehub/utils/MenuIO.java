@@ -0,0 +1,63 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.utils;
+
+import java.io.Closeable;
+
+/**
+ * Text input and output of a menu session.
+ * Output may be buffered until `flush()` is called,
+ * which `Menu` does before waiting for the user.
+ */
+public interface MenuIO extends Closeable {
+    /**
+     * Reads the next line typed by the user (without the line terminator).
+     * @return
+     * @throws java.util.NoSuchElementException if the input is closed
+     */
+    String readLine();
+
+    /**
+     * Writes text to the output.
+     * @param text
+     */
+    void print(CharSequence text);
+
+    default void println(CharSequence text) {
+        print(text);
+        print("\n");
+    }
+
+    /**
+     * Sends the buffered output to the user.
+     */
+    void flush();
+
+    @Override
+    default void close() {
+        flush();
+    }
+}
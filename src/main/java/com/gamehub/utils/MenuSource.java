@@ -0,0 +1,61 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.utils;
+
+import java.util.List;
+
+/**
+ * Options of a menu, read one page at a time, so that a menu
+ * over many options never builds them all.
+ * 
+ * A page is read from a position: 0 for the first page, then the
+ * position returned by the read of the previous page. Positions are
+ * chosen by the source (an index, an id...).
+ * @param <T> type of the options
+ */
+public interface MenuSource<T> {
+    /**
+     * Expected number of options, to display the number of pages.
+     * It may not be exact (filtered options, options added or removed...).
+     * @return
+     */
+    int sizeHint();
+
+    /**
+     * Reads the options of a page.
+     * @param position position of the first option to read
+     * @param count maximum number of options to read
+     * @param page list receiving the options
+     * @return the position of the option following the page, or -1 if there is none.
+     */
+    int read(int position, int count, List<T> page);
+
+    /**
+     * Display text for an option
+     * @param option
+     * @return
+     */
+    String getTitle(T option);
+}
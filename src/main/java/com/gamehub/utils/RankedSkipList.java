@@ -0,0 +1,234 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package com.gamehub.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted list answering rank queries in logarithmic time.
+ * 
+ * Skip list where each link stores its span (number of elements it
+ * jumps over), so the rank of an element or the element at a rank are found
+ * while descending the levels, without walking the bottom list.
+ * 
+ * Elements are ordered by the comparator, which must be a total order:
+ * two different elements must not compare equal.
+ * This class is not thread-safe.
+ * @param <T> type of the elements
+ */
+public class RankedSkipList<T> {
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private static class Node<T> {
+        final T value;
+        final Node<T>[] next;
+        /**
+         * Number of elements between this node (excluded) and the next
+         * one (included) on each level.
+         */
+        final int[] span;
+
+        Node(T value, int level) {
+            this.value = value;
+            this.next = newNodeArray(level);
+            this.span = new int[level];
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Node<T>[] newNodeArray(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Node<T> head;
+    private final SplittableRandom random;
+    private int level;
+    private int size;
+
+    // scratch arrays reused by insertions and removals
+    private final Node<T>[] update;
+    private final int[] rank;
+
+    public RankedSkipList(Comparator<? super T> comparator) {
+        if (comparator == null) throw new IllegalArgumentException("A comparator must be specified");
+        this.comparator = comparator;
+        this.head = new Node<>(null, MAX_LEVEL);
+        this.random = new SplittableRandom();
+        this.level = 1;
+        this.size = 0;
+        this.update = newNodeArray(MAX_LEVEL);
+        this.rank = new int[MAX_LEVEL];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int randomLevel() {
+        int lvl = 1;
+        while (lvl < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) lvl++;
+        return lvl;
+    }
+
+    /**
+     * Finds, on each level, the last node before the value, and its rank.
+     */
+    private void findPredecessors(T value) {
+        Node<T> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1)? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+    }
+
+    /**
+     * Inserts a value. O(log n) on average.
+     * @param value
+     */
+    public void add(T value) {
+        findPredecessors(value);
+
+        int lvl = randomLevel();
+        if (lvl > level) {
+            for (int i = level; i < lvl; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = lvl;
+        }
+
+        Node<T> node = new Node<>(value, lvl);
+        for (int i = 0; i < lvl; i++) {
+            Node<T> previous = update[i];
+            node.next[i] = previous.next[i];
+            previous.next[i] = node;
+            node.span[i] = previous.span[i] - (rank[0] - rank[i]);
+            previous.span[i] = (rank[0] - rank[i]) + 1;
+        }
+        // the new node is under the links of the upper levels
+        for (int i = lvl; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Removes a value. O(log n) on average.
+     * @param value
+     * @return if the value was in the list
+     */
+    public boolean remove(T value) {
+        findPredecessors(value);
+
+        Node<T> x = update[0].next[0];
+        if (x == null || comparator.compare(x.value, value) != 0) return false;
+
+        for (int i = 0; i < level; i++) {
+            Node<T> previous = update[i];
+            if (previous.next[i] == x) {
+                previous.span[i] += x.span[i] - 1;
+                previous.next[i] = x.next[i];
+            } else {
+                previous.span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the rank of a value, starting at 1. O(log n) on average.
+     * @param value
+     * @return the rank, or 0 if the value is not in the list.
+     */
+    public int rankOf(T value) {
+        Node<T> x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) <= 0) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && comparator.compare(x.value, value) == 0) return traversed;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the value at a rank, starting at 1. O(log n) on average.
+     * @param rank
+     * @return
+     */
+    public T get(int rank) {
+        if (rank < 1 || rank > size) throw new IndexOutOfBoundsException("rank " + rank + " out of 1.." + size);
+        Node<T> x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) return x.value;
+        }
+        throw new IllegalStateException("corrupted skip list");
+    }
+
+    /**
+     * Returns the values following a rank, in order.
+     * O(log n + count) on average.
+     * @param from rank of the first value, starting at 1
+     * @param count maximum number of values
+     * @return
+     */
+    public List<T> range(int from, int count) {
+        ArrayList<T> values = new ArrayList<>();
+        if (from < 1 || from > size || count <= 0) return values;
+
+        Node<T> x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0 && traversed != from; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= from) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        while (x != null && values.size() < count) {
+            values.add(x.value);
+            x = x.next[0];
+        }
+        return values;
+    }
+}
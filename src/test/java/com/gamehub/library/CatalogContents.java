@@ -0,0 +1,53 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import java.util.TreeSet;
+
+/**
+ * Text description of a collection, used to compare the loaders.
+ */
+final class CatalogContents {
+    private CatalogContents() {}
+
+    /**
+     * Games by name with their genre and versions, then the platforms.
+     */
+    static String of(GameCollection collection) {
+        StringBuilder sb = new StringBuilder();
+        for (String name : new TreeSet<>(collection.getGameNames())) {
+            Game game = collection.getGame(name);
+            sb.append("game ").append(name).append(" | ").append(game.getGenre()).append('\n');
+            for (GameVersion version : game.getVersions()) {
+                sb.append(version);
+            }
+        }
+        for (String name : new TreeSet<>(collection.getPlatforms())) {
+            sb.append("platform ").append(name).append('\n');
+        }
+        return sb.toString();
+    }
+}
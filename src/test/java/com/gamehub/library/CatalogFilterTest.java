@@ -0,0 +1,160 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogFilterTest {
+    private static final String CSV_PATH = "docs/vgsales.csv";
+
+    private static final List<CatalogFilter> FILTERS = List.of(
+        CatalogFilter.DEFAULT,
+        CatalogFilter.ALL,
+        CatalogFilter.ALL.withYears(2000, 2005).withPlatforms("PS2", "GBA").withGenres("Sports", "Racing"),
+        CatalogFilter.ALL.withSalesAbove(1).withPublishers("Nintendo")
+    );
+
+    @TempDir
+    Path tmp;
+
+    /**
+     * Games by id, platforms by id, then every version in order with all of its fields.
+     */
+    private static String contents(GameCollection collection) {
+        StringBuilder sb = new StringBuilder();
+        for (int id = 0; collection.getGame(id) != null; id++) {
+            Game game = collection.getGame(id);
+            sb.append("game ").append(id).append(' ').append(game.getName())
+                .append(" | ").append(collection.getGenre(game)).append('\n');
+        }
+        for (int id = 0; collection.getPlatform(id) != null; id++) {
+            sb.append("platform ").append(id).append(' ').append(collection.getPlatform(id).getName()).append('\n');
+        }
+
+        VersionStore versions = collection.getVersionStore();
+        for (int row = 0; row < versions.size(); row++) {
+            sb.append(versions.getGame(row).getId()).append(" | ")
+                .append(versions.getPlatform(row).getId()).append(" | ")
+                .append(versions.getYear(row)).append(" | ")
+                .append(versions.getPublisher(row));
+            for (SalesRegion region : SalesRegion.values()) {
+                sb.append(" | ").append(versions.getSales(row, region));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static GameCollection load(CatalogLoader loader, CatalogFilter filter) {
+        return new GameCollection(CSV_PATH, loader, filter);
+    }
+
+    @Test
+    void bordersAreInclusiveForYearsAndExclusiveForSales() {
+        CatalogFilter filter = CatalogFilter.ALL.withYears(2000, 2005).withSalesAbove(1);
+        assertTrue(filter.acceptsNumbers(2000, 1.01f));
+        assertTrue(filter.acceptsNumbers(2005, 1.01f));
+        assertFalse(filter.acceptsNumbers(1999, 1.01f));
+        assertFalse(filter.acceptsNumbers(2006, 1.01f));
+        assertFalse(filter.acceptsNumbers(2002, 1));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.ALL.withYears(2005, 2000));
+    }
+
+    @Test
+    void unrestrictedFieldsAcceptAnyValue() {
+        CatalogFilter filter = CatalogFilter.ALL.withGenres("Sports");
+        assertFalse(filter.restrictsPlatforms());
+        assertTrue(filter.restrictsGenres());
+        assertFalse(filter.restrictsPublishers());
+        assertTrue(filter.accepts(1990, 0.1f, "NES", "Sports", "Nintendo"));
+        assertFalse(filter.accepts(1990, 0.1f, "NES", "Racing", "Nintendo"));
+    }
+
+    @Test
+    void filtersAreEqualWhateverTheOrderOfTheNames() {
+        CatalogFilter a = CatalogFilter.DEFAULT.withPlatforms("PS2", "GBA");
+        CatalogFilter b = CatalogFilter.DEFAULT.withPlatforms("GBA", "PS2");
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, CatalogFilter.DEFAULT);
+        // an empty list keeps nothing, unlike no restriction
+        assertNotEquals(CatalogFilter.ALL, CatalogFilter.ALL.withPlatforms());
+    }
+
+    @Test
+    void writtenFiltersAreReadBack() throws IOException {
+        for (CatalogFilter filter : FILTERS) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                filter.write(out);
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                assertEquals(filter, CatalogFilter.read(in));
+            }
+        }
+    }
+
+    @Test
+    void everyLoaderKeepsTheSameLines() {
+        String snapshot = tmp.resolve("vgsales.csv.snapshot").toString();
+        for (CatalogFilter filter : FILTERS) {
+            GameCollection csv = load(new CSVCatalogLoader(), filter);
+            String expected = contents(csv);
+            CatalogLoadReport report = csv.getLoadReport();
+            assertEquals(csv.getVersionStore().size(), report.getRowsKept(), filter.toString());
+
+            CatalogLoader[] loaders = {
+                new ChunkedCatalogLoader(),
+                new MappedCatalogLoader(),
+                // written from the CSV with a new filter, then read
+                new SnapshotCatalogLoader(new CSVCatalogLoader(), snapshot),
+                new SnapshotCatalogLoader(new CSVCatalogLoader(), snapshot),
+            };
+            for (CatalogLoader loader : loaders) {
+                GameCollection collection = load(loader, filter);
+                String name = loader.getClass().getSimpleName() + " " + filter;
+                assertEquals(expected, contents(collection), name);
+                assertEquals(report.getRowsScanned(), collection.getLoadReport().getRowsScanned(), name);
+                assertEquals(report.getRowsKept(), collection.getLoadReport().getRowsKept(), name);
+            }
+        }
+    }
+}
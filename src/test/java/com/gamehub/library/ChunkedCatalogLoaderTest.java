@@ -0,0 +1,56 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkedCatalogLoaderTest {
+    private static final String CSV_PATH = "docs/vgsales.csv";
+
+    @Test
+    void chunkedLoaderMatchesCsvLoader() {
+        String expected = CatalogContents.of(new GameCollection(CSV_PATH, new CSVCatalogLoader()));
+        assertEquals(expected, CatalogContents.of(new GameCollection(CSV_PATH, new ChunkedCatalogLoader())));
+    }
+
+    @Test
+    void chunkedLoaderMatchesCsvLoaderOnAnyPool() {
+        String expected = CatalogContents.of(new GameCollection(CSV_PATH, new CSVCatalogLoader()));
+        for (int parallelism : new int[] { 1, 3, 8 }) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                GameCollection chunked = new GameCollection(CSV_PATH, new ChunkedCatalogLoader(pool));
+                assertEquals(expected, CatalogContents.of(chunked), "parallelism " + parallelism);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
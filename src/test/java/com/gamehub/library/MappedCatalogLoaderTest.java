@@ -0,0 +1,71 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedCatalogLoaderTest {
+    private static final String CSV_PATH = "docs/vgsales.csv";
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void mappedLoaderMatchesCsvLoader() {
+        String expected = CatalogContents.of(new GameCollection(CSV_PATH, new CSVCatalogLoader()));
+        assertEquals(expected, CatalogContents.of(new GameCollection(CSV_PATH, new MappedCatalogLoader())));
+    }
+
+    @Test
+    void mappedLoaderReadsQuotesAndLineEndings() throws IOException {
+        // quoted separators, escaped quotes, CRLF and no final line break
+        String csv = "Rank,Name,Platform,Year,Genre,Publisher,NA_Sales,EU_Sales,JP_Sales,Other_Sales,Global_Sales\r\n"
+            + "1,\"Racing, Deluxe\",PS4,2015,Racing,\"Studio \"\"Quoted\"\"\",0.5,0.3,0.1,0.1,1.0\r\n"
+            + "2,Puzzle Cafe,3DS,2012,Puzzle,Nintendo,0.4,0.3,0.2,0.1,1.0\n"
+            + "3,\"Racing, Deluxe\",XOne,2016,Racing,\"Studio \"\"Quoted\"\"\",0.4,0.2,0,0.1,0.7";
+        Path file = tmp.resolve("quotes.csv");
+        Files.writeString(file, csv);
+
+        GameCollection mapped = new GameCollection(file.toString(), new MappedCatalogLoader());
+        GameCollection expected = new GameCollection(file.toString(), new CSVCatalogLoader());
+        assertEquals(CatalogContents.of(expected), CatalogContents.of(mapped));
+
+        Game racing = mapped.getGame("Racing, Deluxe");
+        assertNotNull(racing);
+        assertEquals(2, racing.getVersions().size());
+        assertEquals("Studio \"Quoted\"", racing.getVersions().get(0).getPublisher());
+        assertNotNull(mapped.getGame("Puzzle Cafe"));
+        assertNotNull(mapped.getPlatform("XOne"));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.gamehub.GameHub;
+import com.gamehub.user.RegisteredPlayer;
+import com.gamehub.user.bot.BasicGameAI;
+import com.gamehub.user.bot.Bot;
+
+class MatchSimulatorTest {
+    private static final Platform platform = new Platform(0, "simulation platform");
+    private static final List<RegisteredPlayer> players = new ArrayList<>();
+    private static Bot bot;
+    private static BasicGameAI ai;
+
+    @BeforeAll
+    static void createPlayers() {
+        // usernames are unique, the players are shared by the tests
+        for (int i = 0; i < 20; i++) {
+            players.add(GameHub.getPlayers().add(
+                new RegisteredPlayer("simulation-" + i, "simulation@example.com", new Date(0), platform)));
+        }
+        bot = GameHub.getPlayers().add(new Bot("simulation-bot"));
+        ai = new BasicGameAI(0.3f, "simulation ai");
+        bot.addStrategy(ai);
+    }
+
+    private static Game newGame(int id) throws Exception {
+        Game game = new Game(id, "simulation game " + id, null);
+        bot.addGame(game);
+        bot.addGameOption(game, ai);
+        return game;
+    }
+
+    /**
+     * Enough matches to split the batch in several tasks.
+     */
+    private static List<Match> matches() {
+        ArrayList<Match> matches = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            RegisteredPlayer p1 = players.get(i % players.size());
+            if (i % 5 == 0) {
+                matches.add(new Match(p1));
+            } else {
+                matches.add(new Match(p1, players.get((i * 7 + 3) % players.size())));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Summary counts and winners of the recorded results.
+     */
+    private static String outcome(Game game, MatchSummary summary) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(summary.getMatches()).append(' ')
+            .append(summary.getPlayerMatches()).append(' ')
+            .append(summary.getBotMatches()).append(' ')
+            .append(summary.getBotWins()).append('\n');
+        for (GameResult result : game.getResults()) {
+            sb.append(result.getWinner().getUsername()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String play(int gameId, long seed, int parallelism) throws Exception {
+        Game game = newGame(gameId);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return outcome(game, game.playAll(matches(), seed, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sameSeedGivesSameOutcomes() throws Exception {
+        String expected = play(1, 42, 4);
+        assertEquals(expected, play(2, 42, 4));
+        assertEquals(expected, play(3, 42, 1));
+        assertEquals(expected, play(4, 42, 8));
+        assertNotEquals(expected, play(5, 43, 4));
+    }
+
+    @Test
+    void summaryCountsTheMatches() throws Exception {
+        Game game = newGame(10);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            MatchSummary summary = game.playAll(matches(), 7, pool);
+            assertEquals(20_000, summary.getMatches());
+            assertEquals(4_000, summary.getBotMatches());
+            assertEquals(16_000, summary.getPlayerMatches());
+            assertEquals(16_000, game.getResults().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
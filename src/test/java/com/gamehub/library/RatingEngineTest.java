@@ -0,0 +1,148 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.gamehub.GameHub;
+import com.gamehub.user.RegisteredPlayer;
+
+class RatingEngineTest {
+    private static final AtomicInteger nextPlayer = new AtomicInteger(0);
+
+    private final Platform platform = new Platform(0, "test platform");
+    private final Game game = new Game(0, "test game", null);
+
+    private RegisteredPlayer newPlayer() {
+        return GameHub.getPlayers().add(
+            new RegisteredPlayer("rating-" + nextPlayer.getAndIncrement(), "rating@example.com", new Date(0), platform));
+    }
+
+    private GameResult result(RegisteredPlayer winner, RegisteredPlayer loser) {
+        return new GameResult(game, winner, loser, false);
+    }
+
+    @Test
+    void newestPlayerLosingKeepsLosingPoints() {
+        for (RatingEngine engine : new RatingEngine[] { new EloRatingEngine(), new Glicko2RatingEngine() }) {
+            RegisteredPlayer winner = newPlayer();
+            RegisteredPlayer loser = newPlayer(); // last registered slot
+
+            double previous = engine.getRating(loser);
+            for (int i = 0; i < 5; i++) {
+                engine.record(result(winner, loser));
+                double rating = engine.getRating(loser);
+                assertTrue(rating < previous, engine.getClass().getSimpleName() + " match " + i + ": " + rating);
+                previous = rating;
+            }
+        }
+    }
+
+    @Test
+    void eloUpdatesAreZeroSum() {
+        EloRatingEngine engine = new EloRatingEngine();
+        RegisteredPlayer winner = newPlayer();
+        RegisteredPlayer loser = newPlayer();
+        for (int i = 0; i < 5; i++) {
+            engine.record(result(winner, loser));
+            assertEquals(2 * RatingEngine.INITIAL_RATING, engine.getRating(winner) + engine.getRating(loser), 1e-9);
+        }
+    }
+
+    @Test
+    void eloEvenMatchMovesHalfTheKFactor() {
+        EloRatingEngine engine = new EloRatingEngine(32);
+        RegisteredPlayer winner = newPlayer();
+        RegisteredPlayer loser = newPlayer();
+        engine.record(result(winner, loser));
+        assertEquals(1516, engine.getRating(winner), 1e-9);
+        assertEquals(1484, engine.getRating(loser), 1e-9);
+    }
+
+    @Test
+    void glicko2MatchesThePaperExample() {
+        // player rated 1500 (RD 200) beats a 1400 (RD 30), loses to a 1550 (RD 100) and a 1700 (RD 300)
+        double scale = 173.7178;
+        double[] mu = { 0 };
+        double[] phi = { 200 / scale };
+        double[] sigma = { 0.06 };
+        double[][] opponents = { { 1400, 30, 1 }, { 1550, 100, 0 }, { 1700, 300, 0 } };
+
+        double vInverse = 0;
+        double improvement = 0;
+        for (double[] o : opponents) {
+            double g = Glicko2RatingEngine.g(o[1] / scale);
+            double expected = Glicko2RatingEngine.expected(mu[0], (o[0] - 1500) / scale, g);
+            vInverse += g * g * expected * (1 - expected);
+            improvement += g * (o[2] - expected);
+        }
+        Glicko2RatingEngine.ratePeriod(mu, phi, sigma, 0, vInverse, improvement, 0.5);
+
+        assertEquals(1464.06, 1500 + scale * mu[0], 0.01);
+        assertEquals(151.52, scale * phi[0], 0.01);
+        assertEquals(0.05999, sigma[0], 0.00001);
+    }
+
+    @Test
+    void removingAPlayerReplaysTheOtherResults() {
+        for (RatingSystem system : RatingSystem.values()) {
+            Game g = new Game(1, "removal game", null);
+            g.setRatingSystem(system);
+            RegisteredPlayer a = newPlayer();
+            RegisteredPlayer b = newPlayer();
+            RegisteredPlayer removed = newPlayer();
+
+            List<GameResult> kept = new ArrayList<>();
+            GameResult[] played = {
+                new GameResult(g, a, b, false),
+                new GameResult(g, removed, a, false),
+                new GameResult(g, b, removed, false),
+                new GameResult(g, b, a, false),
+                new GameResult(g, a, removed, false),
+                new GameResult(g, a, b, false),
+            };
+            for (GameResult r : played) {
+                g.addGameResult(r);
+                if (r.getWinner() != removed && r.getLoser() != removed) kept.add(r);
+            }
+            g.removePlayer(removed);
+
+            RatingEngine fresh = system.createEngine();
+            for (GameResult r : kept) fresh.record(r);
+            assertEquals(fresh.getRating(a), g.getRating(a), 1e-9, system.toString());
+            assertEquals(fresh.getRating(b), g.getRating(b), 1e-9, system.toString());
+            assertEquals(RatingEngine.INITIAL_RATING, g.getRating(removed), 1e-9, system.toString());
+        }
+    }
+}
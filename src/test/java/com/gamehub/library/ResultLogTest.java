@@ -0,0 +1,152 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.gamehub.GameHub;
+import com.gamehub.user.RegisteredPlayer;
+
+class ResultLogTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    private static final Game game = new Game(0, "log game", null);
+    private static final Platform platform = new Platform(0, "log platform");
+    // usernames are unique
+    private static final RegisteredPlayer winner = GameHub.getPlayers().add(
+        new RegisteredPlayer("log-winner", "log@example.com", new Date(0), platform));
+    private static final RegisteredPlayer loser = GameHub.getPlayers().add(
+        new RegisteredPlayer("log-loser", "log@example.com", new Date(0), platform));
+
+    private List<GameResult> results(int count) {
+        ArrayList<GameResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(new GameResult(game, winner, loser, false));
+        }
+        return results;
+    }
+
+    @Test
+    void appendsCrossSegmentBoundaries() {
+        // more segments than the initial directory holds
+        List<GameResult> expected = results(SEGMENT_SIZE * 6 + 3);
+        ResultLog log = new ResultLog();
+        for (GameResult result : expected) log.add(result);
+
+        assertEquals(expected.size(), log.size());
+        List<GameResult> snapshot = log.snapshot();
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), snapshot.get(i), "result " + i);
+        }
+    }
+
+    @Test
+    void batchesCrossSegmentBoundaries() {
+        List<GameResult> expected = results(SEGMENT_SIZE * 9);
+        ResultLog log = new ResultLog();
+        log.add(expected.get(0));
+        // from the first segment to the middle of the fifth one
+        log.addAll(expected.subList(1, SEGMENT_SIZE * 4 + 10));
+        log.addAll(expected.subList(SEGMENT_SIZE * 4 + 10, expected.size()));
+
+        assertEquals(expected, log.snapshot());
+    }
+
+    @Test
+    void snapshotsDoNotSeeLaterResults() {
+        List<GameResult> expected = results(SEGMENT_SIZE + 1);
+        ResultLog log = new ResultLog();
+        log.addAll(expected.subList(0, SEGMENT_SIZE));
+        List<GameResult> snapshot = log.snapshot();
+        log.add(expected.get(SEGMENT_SIZE));
+
+        assertEquals(SEGMENT_SIZE, snapshot.size());
+        assertEquals(expected.subList(0, SEGMENT_SIZE), snapshot);
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(SEGMENT_SIZE));
+        assertEquals(expected, log.snapshot());
+    }
+
+    @Test
+    void concurrentSnapshotsArePrefixes() throws Exception {
+        List<GameResult> expected = results(SEGMENT_SIZE * 200);
+        ResultLog log = new ResultLog();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        ExecutorService readers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<Integer>> checked = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                checked.add(readers.submit(() -> {
+                    int snapshots = 0;
+                    int previous = 0;
+                    do {
+                        List<GameResult> snapshot = log.snapshot();
+                        assertTrue(snapshot.size() >= previous, "snapshots never shrink");
+                        for (int i = 0; i < snapshot.size(); i++) {
+                            assertSame(expected.get(i), snapshot.get(i), "result " + i + " of " + snapshot.size());
+                        }
+                        previous = snapshot.size();
+                        snapshots++;
+                    } while (writing.get());
+                    return snapshots;
+                }));
+            }
+
+            // single writer, mixing single results and batches
+            int i = 0;
+            while (i < expected.size()) {
+                if (i % 7 == 0) {
+                    int end = Math.min(expected.size(), i + 300);
+                    log.addAll(expected.subList(i, end));
+                    i = end;
+                } else {
+                    log.add(expected.get(i++));
+                }
+            }
+            writing.set(false);
+
+            for (Future<Integer> f : checked) {
+                assertTrue(f.get() > 0);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertEquals(expected, log.snapshot());
+    }
+}
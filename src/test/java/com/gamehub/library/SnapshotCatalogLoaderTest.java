@@ -0,0 +1,141 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.library;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotCatalogLoaderTest {
+    private static final String CSV_PATH = "docs/vgsales.csv";
+    /**
+     * Offsets of the header fields: magic, format version, CSV size, CSV checksum.
+     */
+    private static final int VERSION_OFFSET = 4;
+    private static final int CHECKSUM_OFFSET = 4 + 4 + 8;
+
+    @TempDir
+    Path tmp;
+
+    private Path snapshot;
+    private int fallbackLoads;
+    private String expected;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = tmp.resolve("vgsales.csv.snapshot");
+        fallbackLoads = 0;
+        expected = CatalogContents.of(new GameCollection(CSV_PATH, new CSVCatalogLoader()));
+    }
+
+    /**
+     * Loads through the snapshot, counting the loads of the CSV.
+     */
+    private GameCollection load() {
+        CatalogLoader csv = new CSVCatalogLoader();
+        CatalogLoader fallback = (dataPath, filter, collection) -> {
+            fallbackLoads++;
+            csv.load(dataPath, filter, collection);
+        };
+        return new GameCollection(CSV_PATH, new SnapshotCatalogLoader(fallback, snapshot.toString()));
+    }
+
+    private void overwrite(int offset, byte... bytes) throws IOException {
+        byte[] data = Files.readAllBytes(snapshot);
+        System.arraycopy(bytes, 0, data, offset, bytes.length);
+        Files.write(snapshot, data);
+    }
+
+    @Test
+    void snapshotIsWrittenThenRead() throws IOException {
+        assertEquals(expected, CatalogContents.of(load()));
+        assertEquals(1, fallbackLoads);
+        assertTrue(Files.size(snapshot) > 0);
+
+        assertEquals(expected, CatalogContents.of(load()));
+        assertEquals(1, fallbackLoads);
+    }
+
+    @Test
+    void corruptedChecksumFallsBackToTheCsv() throws IOException {
+        load();
+        byte[] written = Files.readAllBytes(snapshot);
+        overwrite(CHECKSUM_OFFSET, (byte) ~written[CHECKSUM_OFFSET]);
+
+        assertEquals(expected, CatalogContents.of(load()));
+        assertEquals(2, fallbackLoads);
+        // written again from the CSV
+        assertArrayEquals(written, Files.readAllBytes(snapshot));
+    }
+
+    @Test
+    void otherFormatVersionFallsBackToTheCsv() throws IOException {
+        load();
+        byte[] written = Files.readAllBytes(snapshot);
+        overwrite(VERSION_OFFSET, (byte) 0x7f, (byte) 0x7f, (byte) 0x7f, (byte) 0x7f);
+
+        assertEquals(expected, CatalogContents.of(load()));
+        assertEquals(2, fallbackLoads);
+        assertArrayEquals(written, Files.readAllBytes(snapshot));
+    }
+
+    @Test
+    void truncatedSnapshotFallsBackToTheCsv() throws IOException {
+        load();
+        byte[] written = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(written, written.length / 2));
+
+        assertEquals(expected, CatalogContents.of(load()));
+        assertEquals(2, fallbackLoads);
+        assertArrayEquals(written, Files.readAllBytes(snapshot));
+    }
+
+    @Test
+    void snapshotHasThePermissionsOfTheCsv() throws IOException {
+        assumeTrue(Files.getFileStore(tmp).supportsFileAttributeView(PosixFileAttributeView.class));
+        Path csv = Files.copy(Path.of(CSV_PATH), tmp.resolve("vgsales.csv"));
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+        Files.setPosixFilePermissions(csv, permissions);
+
+        new GameCollection(csv.toString(), new SnapshotCatalogLoader(new CSVCatalogLoader()));
+        Path written = tmp.resolve("vgsales.csv" + SnapshotCatalogLoader.EXTENSION);
+        assertEquals(permissions, Files.getPosixFilePermissions(written));
+    }
+}
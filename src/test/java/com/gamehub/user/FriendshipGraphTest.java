@@ -0,0 +1,120 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.gamehub.library.Platform;
+import com.gamehub.user.profile.IllegalProfileException;
+import com.gamehub.user.profile.KidProfile;
+
+class FriendshipGraphTest {
+    private final FriendshipGraph graph = new FriendshipGraph();
+    private final Platform platform = new Platform(0, "friends platform");
+    private int nextPlayer = 0;
+
+    private RegisteredPlayer newPlayer() {
+        String username = "friend-" + nextPlayer++;
+        return new RegisteredPlayer(username, username + "@example.com", new Date(0), platform);
+    }
+
+    @Test
+    void friendshipsHaveTwoSides() throws IllegalFriendshipException {
+        RegisteredPlayer a = newPlayer();
+        RegisteredPlayer b = newPlayer();
+        graph.add(a, b);
+        assertTrue(graph.areFriends(a, b));
+        assertTrue(graph.areFriends(b, a));
+        assertEquals(Set.of(b), graph.getFriends(a));
+
+        assertThrows(IllegalFriendshipException.class, () -> graph.add(a, b));
+        assertThrows(IllegalFriendshipException.class, () -> graph.add(b, a));
+
+        graph.remove(b, a);
+        assertFalse(graph.areFriends(a, b));
+        assertFalse(graph.areFriends(b, a));
+        assertThrows(IllegalFriendshipException.class, () -> graph.remove(a, b));
+    }
+
+    @Test
+    void playersCannotBeTheirOwnFriend() {
+        RegisteredPlayer a = newPlayer();
+        assertThrows(IllegalFriendshipException.class, () -> graph.add(a, a));
+        assertFalse(graph.areFriends(a, a));
+        assertEquals(0, graph.count(a));
+    }
+
+    @Test
+    void maxFriendsIsCheckedOnBothSides() throws IllegalFriendshipException, IllegalProfileException {
+        RegisteredPlayer kid = newPlayer();
+        kid.setMemberProfile(new KidProfile());
+        int max = kid.memberProfile.maxFriends();
+        for (int i = 0; i < max; i++) {
+            graph.add(kid, newPlayer());
+        }
+
+        RegisteredPlayer late = newPlayer();
+        assertThrows(IllegalFriendshipException.class, () -> graph.add(kid, late));
+        assertThrows(IllegalFriendshipException.class, () -> graph.add(late, kid));
+        assertEquals(max, graph.count(kid));
+        assertEquals(0, graph.count(late));
+        assertFalse(graph.areFriends(late, kid));
+
+        // a removal frees a place
+        graph.remove(kid, graph.getFriends(kid).iterator().next());
+        graph.add(late, kid);
+        assertTrue(graph.areFriends(kid, late));
+    }
+
+    @Test
+    void removeAllCleansBothSides() throws IllegalFriendshipException {
+        RegisteredPlayer removed = newPlayer();
+        RegisteredPlayer b = newPlayer();
+        RegisteredPlayer c = newPlayer();
+        graph.add(removed, b);
+        graph.add(c, removed);
+        graph.add(b, c);
+
+        graph.removeAll(removed);
+        assertEquals(0, graph.count(removed));
+        assertFalse(graph.areFriends(b, removed));
+        assertFalse(graph.areFriends(c, removed));
+        assertEquals(Set.of(c), graph.getFriends(b));
+        assertEquals(Set.of(b), graph.getFriends(c));
+
+        // nothing left to remove
+        graph.removeAll(removed);
+        assertEquals(1, graph.count(b));
+    }
+}
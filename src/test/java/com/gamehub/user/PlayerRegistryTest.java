@@ -0,0 +1,137 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.gamehub.library.Platform;
+import com.gamehub.user.bot.Bot;
+
+class PlayerRegistryTest {
+    private final PlayerRegistry registry = new PlayerRegistry();
+    private final Platform platform = new Platform(0, "registry platform");
+
+    private RegisteredPlayer newPlayer(String username) {
+        return new RegisteredPlayer(username, username + "@example.com", new Date(0), platform);
+    }
+
+    @Test
+    void sameUsernameFromManyThreadsRegistersOnce() throws Exception {
+        int threads = 8;
+        for (int round = 0; round < 50; round++) {
+            String username = "race-" + round;
+            List<RegisteredPlayer> candidates = new ArrayList<>();
+            for (int i = 0; i < threads; i++) candidates.add(newPlayer(username));
+
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<Boolean>> registered = new ArrayList<>();
+                for (RegisteredPlayer p : candidates) {
+                    registered.add(pool.submit(() -> {
+                        start.await();
+                        return registry.register(p);
+                    }));
+                }
+                start.countDown();
+
+                int winners = 0;
+                for (int i = 0; i < threads; i++) {
+                    RegisteredPlayer p = candidates.get(i);
+                    if (registered.get(i).get()) {
+                        winners++;
+                        assertSame(p, registry.get(username));
+                        assertSame(p, registry.get(p.getId()));
+                    } else {
+                        // no id is used up by a rejected username
+                        assertEquals(Player.UNREGISTERED, p.getId());
+                    }
+                }
+                assertEquals(1, winners, username);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        assertEquals(50, registry.count());
+        // ids are dense
+        for (int id = 0; id < 50; id++) {
+            assertTrue(registry.get(id) != null, "id " + id);
+        }
+    }
+
+    @Test
+    void rejectedUsernamesDoNotUseIds() {
+        RegisteredPlayer first = registry.add(newPlayer("first"));
+        assertFalse(registry.register(newPlayer("first")));
+        assertThrows(IllegalArgumentException.class, () -> registry.add(newPlayer("first")));
+        RegisteredPlayer second = registry.add(newPlayer("second"));
+        assertEquals(first.getId() + 1, second.getId());
+        assertEquals(second.getId(), registry.nextId(first.getId() + 1));
+    }
+
+    @Test
+    void playersAreRegisteredOnce() {
+        RegisteredPlayer p = registry.add(newPlayer("once"));
+        assertThrows(IllegalArgumentException.class, () -> registry.register(p));
+    }
+
+    @Test
+    void botsAreCountedApart() {
+        registry.add(newPlayer("human-1"));
+        registry.add(newPlayer("human-2"));
+        Bot bot1 = registry.add(new Bot("bot-1"));
+        Bot bot2 = registry.add(new Bot("bot-2"));
+        assertFalse(registry.register(new Bot("bot-1")));
+
+        assertEquals(4, registry.count());
+        assertEquals(2, registry.countBots());
+        assertEquals(2, registry.countRegisteredPlayers());
+
+        assertTrue(registry.unregister(bot1));
+        assertFalse(registry.unregister(bot1));
+        assertEquals(1, registry.countBots());
+        assertEquals(2, registry.countRegisteredPlayers());
+        assertNull(registry.get("bot-1"));
+        assertNull(registry.get(bot1.getId()));
+        assertSame(bot2, registry.get("bot-2"));
+        assertTrue(registry.isAvailable("bot-1"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class IntIndexMapTest {
+    @Test
+    void missingKeysHaveNoSlot() {
+        IntIndexMap map = new IntIndexMap();
+        assertEquals(-1, map.get(42));
+        map.getOrAdd(7);
+        assertEquals(-1, map.get(42));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void slotsAreDenseInInsertionOrder() {
+        IntIndexMap map = new IntIndexMap();
+        assertEquals(0, map.getOrAdd(1000));
+        assertEquals(1, map.getOrAdd(3));
+        assertEquals(0, map.getOrAdd(1000));
+        assertEquals(2, map.getOrAdd(0));
+        assertEquals(1, map.get(3));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void growingKeepsTheSlots() {
+        IntIndexMap map = new IntIndexMap(2);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.getOrAdd(i * 31));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i * 31));
+        }
+        assertEquals(10_000, map.size());
+    }
+
+    @Test
+    void clearRestartsTheSlots() {
+        IntIndexMap map = new IntIndexMap();
+        map.getOrAdd(5);
+        map.getOrAdd(6);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(5));
+        assertEquals(0, map.getOrAdd(6));
+    }
+
+    @Test
+    void negativeKeysAreRejected() {
+        IntIndexMap map = new IntIndexMap();
+        assertThrows(IllegalArgumentException.class, () -> map.get(-1));
+        assertThrows(IllegalArgumentException.class, () -> map.getOrAdd(-1));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MenuTest {
+    private static final int OPTIONS = 60;
+
+    private static List<String> options() {
+        ArrayList<String> options = new ArrayList<>();
+        for (int i = 0; i < OPTIONS; i++) options.add("option " + i);
+        return options;
+    }
+
+    private static String select(String input) {
+        return Menu.showMenu(new MemoryIO(input), "test", new ListMenuSource<>(options(), o -> o), 0);
+    }
+
+    @Test
+    void optionsOfTheDisplayedPageAreSelected() {
+        assertEquals("option 3", select("3\n"));
+    }
+
+    @Test
+    void optionsOfPagesNotShownAreSelected() {
+        // page 1/3 shows 0 to 24, the last page starts at 50
+        assertEquals("option 55", select("55\n"));
+        assertEquals("option 59", select("59\n"));
+    }
+
+    @Test
+    void optionsOfPagesShownBeforeAreSelected() {
+        // NEXT then an option of the first page
+        assertEquals("option 7", select("-1\n7\n"));
+    }
+
+    @Test
+    void indexesOutOfTheSourceAreRejected() {
+        MemoryIO io = new MemoryIO("60\n-3\n12\n");
+        String selected = Menu.showMenu(io, "test", new ListMenuSource<>(options(), o -> o), 0);
+        assertEquals("option 12", selected);
+        assertTrue(io.getOutput().contains("(-1 to 59)"), io.getOutput());
+    }
+}
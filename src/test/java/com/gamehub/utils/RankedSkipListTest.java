@@ -0,0 +1,171 @@
+/*
+MIT License
+
+Copyright (c) 2023 Picorims alias Charly Schmidt
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+
+package com.gamehub.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the skip list against a `TreeMap` with the same order.
+ */
+class RankedSkipListTest {
+    /**
+     * Score of a player, players with the same score being ordered by id.
+     */
+    private static class Entry {
+        final int id;
+        final int score;
+
+        Entry(int id, int score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public String toString() {
+            return id + ":" + score;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(e -> -e.score)
+        .thenComparingInt(e -> e.id);
+
+    private final RankedSkipList<Entry> list = new RankedSkipList<>(ORDER);
+    private final TreeMap<Entry, Integer> model = new TreeMap<>(ORDER);
+
+    private void add(Entry e) {
+        list.add(e);
+        model.put(e, e.id);
+    }
+
+    private void remove(Entry e) {
+        assertTrue(list.remove(e), e.toString());
+        model.remove(e);
+    }
+
+    private void assertMatchesModel() {
+        List<Entry> expected = new ArrayList<>(model.keySet());
+        assertEquals(expected.size(), list.size());
+        for (int rank = 1; rank <= expected.size(); rank++) {
+            Entry e = expected.get(rank - 1);
+            assertEquals(e, list.get(rank), "rank " + rank);
+            assertEquals(rank, list.rankOf(e), e.toString());
+        }
+        assertEquals(expected, list.range(1, expected.size() + 1));
+    }
+
+    @Test
+    void emptyList() {
+        assertEquals(0, list.size());
+        assertEquals(0, list.rankOf(new Entry(1, 10)));
+        assertFalse(list.remove(new Entry(1, 10)));
+        assertTrue(list.range(1, 10).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+    }
+
+    @Test
+    void tiesAreOrderedByTheComparator() {
+        for (int id = 9; id >= 0; id--) {
+            add(new Entry(id, (id % 2 == 0)? 100 : 50));
+        }
+        assertMatchesModel();
+        assertEquals(0, list.get(1).id);
+        assertEquals(9, list.get(10).id);
+        // same score, id not in the list
+        assertEquals(0, list.rankOf(new Entry(42, 100)));
+    }
+
+    @Test
+    void removingTheHeadAndTheTail() {
+        for (int id = 0; id < 50; id++) add(new Entry(id, id));
+        remove(list.get(1));
+        assertMatchesModel();
+        remove(list.get(list.size()));
+        assertMatchesModel();
+        while (list.size() > 0) {
+            remove(list.get((list.size() % 2 == 0)? 1 : list.size()));
+            assertMatchesModel();
+        }
+        // still usable once emptied
+        add(new Entry(7, 7));
+        assertMatchesModel();
+    }
+
+    @Test
+    void rangesAreClampedToTheList() {
+        for (int id = 0; id < 20; id++) add(new Entry(id, id));
+        List<Entry> expected = new ArrayList<>(model.keySet());
+        assertEquals(expected.subList(4, 9), list.range(5, 5));
+        assertEquals(expected.subList(15, 20), list.range(16, 100));
+        assertEquals(expected.subList(19, 20), list.range(20, 1));
+        assertTrue(list.range(0, 5).isEmpty());
+        assertTrue(list.range(21, 5).isEmpty());
+        assertTrue(list.range(3, 0).isEmpty());
+    }
+
+    @Test
+    void randomOperationsMatchTheModel() {
+        Random random = new Random(7);
+        Entry[] players = new Entry[300];
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(players.length);
+            // few scores, many ties
+            int score = random.nextInt(40);
+            if (players[id] == null) {
+                players[id] = new Entry(id, score);
+                add(players[id]);
+            } else if (random.nextInt(4) == 0) {
+                remove(players[id]);
+                players[id] = null;
+            } else {
+                // score update
+                remove(players[id]);
+                players[id] = new Entry(id, players[id].score + score - 20);
+                add(players[id]);
+            }
+
+            if (step % 500 == 0) assertMatchesModel();
+            if (list.size() > 0) {
+                int from = 1 + random.nextInt(list.size());
+                int count = random.nextInt(20);
+                List<Entry> expected = new ArrayList<>(model.keySet());
+                assertEquals(expected.subList(from - 1, Math.min(expected.size(), from - 1 + count)),
+                    list.range(from, count));
+            }
+        }
+        assertMatchesModel();
+    }
+}